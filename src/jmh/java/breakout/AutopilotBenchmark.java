@@ -0,0 +1,49 @@
+package breakout;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link Autopilot} deciding which way to move the paddle, with balls all over the screen moving in
+ * every direction. Run with {@code ./gradlew jmh}. A decision should take a few nanoseconds per ball, however far the
+ * balls are from the paddle, and allocate nothing.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutopilotBenchmark {
+    @Param({"1", "1000"})
+    public int ballCount;
+
+    private final Autopilot autopilot = new Autopilot();
+    private final List<Ball> balls = new ArrayList<>();
+    private Paddle paddle;
+
+    @Setup
+    public void setUp() {
+        Debug.set(false);
+        final SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < ballCount; i += 1) {
+            final Ball ball = new Ball(new Vector2(random.nextInt(Main.WINDOW_WIDTH - 10),
+                    random.nextInt(Model.MENU_HEIGHT, 340)));
+            ball.getVelocity().setX(random.nextInt(-8, 9));
+            ball.getVelocity().setY(random.nextBoolean() ? Ball.SPEED : -Ball.SPEED);
+            balls.add(ball);
+        }
+        paddle = new Paddle();
+    }
+
+    @Benchmark
+    public int steer() {
+        return autopilot.steer(balls, paddle, Main.WINDOW_WIDTH, Model.MENU_HEIGHT);
+    }
+}
@@ -0,0 +1,61 @@
+package breakout;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of opening a level file (see {@link LevelFile}) with different numbers of bricks, in both formats.
+ * Opening a binary level maps the file rather than copying it, so most of the time goes on checking each brick's colour
+ * (see {@link Level#layoutHash()}); the text format has to read and parse every brick as well.
+ * Run with {@code ./gradlew jmh}.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelFileBenchmark {
+    private static final int COLUMNS = 100;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int brickCount;
+
+    private Path folder;
+    private Path binary;
+    private Path text;
+
+    @Setup
+    public void setUp() throws IOException {
+        Debug.set(false);
+        folder = Files.createTempDirectory("levels");
+        binary = folder.resolve("level" + LevelFile.BINARY_EXTENSION);
+        text = folder.resolve("level" + LevelFile.TEXT_EXTENSION);
+        final Level level = new Level(COLUMNS, brickCount / COLUMNS);
+        LevelFile.write(level, binary);
+        LevelFile.write(level, text);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(folder);
+    }
+
+    @Benchmark
+    public Level readBinary() throws IOException {
+        return LevelFile.read(binary);
+    }
+
+    @Benchmark
+    public Level readText() throws IOException {
+        return LevelFile.read(text);
+    }
+}
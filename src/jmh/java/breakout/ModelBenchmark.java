@@ -0,0 +1,48 @@
+package breakout;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a whole {@link Model#updateGame()} tick, with different numbers of bricks in the level.
+ * The level is a grid of bricks 100 columns wide, so the bigger levels are much taller than the screen and the ball
+ * spends most of its time breaking bricks, which is the slowest kind of tick.
+ * Run with {@code ./gradlew jmh}, the results include throughput and (from the GC profiler) allocation rate.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    private static final int COLUMNS = 10;
+    private static final int WIDE_COLUMNS = 100;
+
+    @Param({"70", "10000", "1000000"})
+    public int brickCount;
+
+    private Model model;
+
+    @Setup
+    public void setUp() {
+        Debug.set(false);
+        // The usual 70 bricks are 10 columns wide, bigger levels are 100 columns wide.
+        final int columns = brickCount <= COLUMNS * 7 ? COLUMNS : WIDE_COLUMNS;
+        model = new Model(columns * 30, Main.WINDOW_HEIGHT);
+        model.initialiseGame(new Level(columns, brickCount / columns));
+    }
+
+    @Benchmark
+    public int updateGame() {
+        // Keep the paddle under the ball so the game doesn't run out of lives.
+        final int paddleCentre = model.getPaddle().left() + model.getPaddle().width() / 2;
+        model.setLeftHeld(model.getBall().right() < paddleCentre);
+        model.setRightHeld(model.getBall().left() > paddleCentre);
+        model.updateGame();
+        return model.getScore();
+    }
+}
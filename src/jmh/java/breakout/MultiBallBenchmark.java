@@ -0,0 +1,65 @@
+package breakout;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a whole {@link Model#updateGame()} tick with lots of balls in play, moving them on one thread or on
+ * several.
+ * Balls that fall off the bottom are put back in play at random places, so there are always about the same number.
+ * Run with {@code ./gradlew jmh}, the results include throughput and (from the GC profiler) allocation rate.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiBallBenchmark {
+    private static final int COLUMNS = 100;
+    private static final int ROWS = 100;
+    private static final int BALL_WIDTH = 10; // New balls start at least this far from the window's right side.
+
+    @Param({"1", "100", "1000", "10000"})
+    public int ballCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private Model model;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        Debug.set(false);
+        model = new Model(COLUMNS * 30, Main.WINDOW_HEIGHT * 4);
+        model.initialiseGame(new Level(COLUMNS, ROWS));
+        model.setParallel(parallel);
+        random = new Random(42);
+        topUpBalls();
+    }
+
+    @Benchmark
+    public int updateGame() {
+        model.updateGame();
+        topUpBalls();
+        return model.getScore();
+    }
+
+    /**
+     * Add balls until there are {@link #ballCount} in play again. Each one starts somewhere in the third quarter of the
+     * window, between the bricks and the paddle, heading off diagonally in a direction picked by {@link #random}.
+     */
+    private void topUpBalls() {
+        while (model.getBalls().size() < ballCount) {
+            final int x = random.nextInt(model.width - BALL_WIDTH);
+            final int y = model.height / 2 + random.nextInt(model.height / 4);
+            model.addBall(x, y, random.nextBoolean() ? Ball.SPEED : -Ball.SPEED,
+                    random.nextBoolean() ? Ball.SPEED : -Ball.SPEED);
+        }
+    }
+}
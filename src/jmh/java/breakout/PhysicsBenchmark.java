@@ -0,0 +1,86 @@
+package breakout;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the collision and movement code that runs on every tick.
+ * Run with {@code ./gradlew jmh}, the results include throughput and (from the GC profiler) allocation rate.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsBenchmark {
+    private GameObj stationary;
+    private KineticGameObj moving;
+    private List<Ball> balls;
+    private Paddle paddle;
+    private Collision collision;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        Debug.set(false);
+        stationary = new GameObj(new Vector2(0, 0), new Vector2(30, 10));
+        // Overlapping the bottom-right corner of stationary, moving up and to the left.
+        moving = new KineticGameObj(new Vector2(25, 7), new Vector2(10, 10));
+        moving.setVelocity(new Vector2(-3, -3));
+        balls = List.of(new Ball(new Vector2(30, 200)));
+        paddle = new Paddle();
+        collision = new Collision();
+    }
+
+    @Benchmark
+    public boolean gameObjHit() {
+        return moving.hit(stationary);
+    }
+
+    @Benchmark
+    public Collision collisionScreenEdges() {
+        return new Collision(moving, Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT, Model.MENU_HEIGHT);
+    }
+
+    @Benchmark
+    public Collision collisionObjects() {
+        return new Collision(moving, stationary);
+    }
+
+    @Benchmark
+    public Collision collisionReused() {
+        return collision.detect(moving, stationary.left(), stationary.top(), stationary.right(), stationary.bottom());
+    }
+
+    @Benchmark
+    public boolean collisionSweep() {
+        return collision.sweep(moving, -3, -3, stationary.left(), stationary.top(), stationary.right(),
+                stationary.bottom());
+    }
+
+    @Benchmark
+    public void bounce(Blackhole blackhole) {
+        collision.detect(moving, stationary.left(), stationary.top(), stationary.right(), stationary.bottom());
+        moving.bounce(collision);
+        blackhole.consume(moving.left());
+        // Undo the bounce, so every call does the same work.
+        moving.moveTo(25, 7);
+        moving.getVelocity().setX(-3);
+        moving.getVelocity().setY(-3);
+    }
+
+    @Benchmark
+    public int movePaddle() {
+        // Sweep back and forth across the screen so the paddle doesn't just sit against one edge.
+        tick += 1;
+        final boolean right = (tick / 64) % 2 == 0;
+        paddle.movePaddle(!right, right, Main.WINDOW_WIDTH, balls);
+        return paddle.left();
+    }
+}
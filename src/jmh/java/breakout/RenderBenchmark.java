@@ -0,0 +1,150 @@
+package breakout;
+
+import javafx.application.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how long it takes to draw a frame with lots of bricks, and how many draw calls it takes, in three ways:
+ * <ul>
+ *     <li>separate - every sprite from its own image, so the image changes on every draw call (how it used to be).</li>
+ *     <li>atlas - every sprite from its rectangle of the sprite atlas, so the image never changes.</li>
+ *     <li>layer - what the {@link View} does each frame now: the cached {@link BrickLayer}, then ball and paddle.</li>
+ * </ul>
+ * Each frame is drawn onto a canvas that isn't on screen, then copied into an image, which makes JavaFX actually render
+ * it (not just record the draw calls) before the timer stops.
+ * This isn't a JMH benchmark, because JavaFX has to draw on its own thread. Run it with
+ * {@code ./gradlew runRenderBenchmark}, optionally with {@code --args="<columns> <rows> <frames>"}.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public class RenderBenchmark {
+    private static final int SHADOW_OFFSET = 4;
+    private static final int WARMUP_FRAMES = 20;
+
+    private final Level level;
+    private final GameSnapshot snapshot = new GameSnapshot();
+    private final Canvas canvas;
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+    private WritableImage rendered;
+    private int drawCalls;
+
+    private RenderBenchmark(int columns, int rows) {
+        level = new Level(columns, rows);
+        final Model model = new Model(columns * 30, Model.MENU_HEIGHT + 60 + rows * 10 + 100);
+        model.initialiseGame(level);
+        snapshot.capture(0, model.getBalls(), model.getPaddle(), level, 0, 0);
+        canvas = new Canvas(model.width, model.height);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        final int columns = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        final int rows = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        final int frames = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Debug.set(false);
+
+        final CountDownLatch finished = new CountDownLatch(1);
+        Platform.startup(() -> {
+            final RenderBenchmark benchmark = new RenderBenchmark(columns, rows);
+            System.out.printf("%d bricks, %d frames%n", columns * rows, frames);
+            System.out.printf("%10s %16s %16s%n", "mode", "draw calls/frame", "ms/frame");
+            benchmark.measure("separate", frames, benchmark::drawSeparate);
+            benchmark.measure("atlas", frames, benchmark::drawAtlas);
+            final BrickLayer layer = new BrickLayer((int) benchmark.canvas.getWidth(),
+                    (int) benchmark.canvas.getHeight(), Color.DARKSLATEGRAY, SHADOW_OFFSET);
+            layer.update(benchmark.snapshot, new DirtyRegions(1));
+            benchmark.measure("layer", frames, gc -> benchmark.drawLayer(gc, layer));
+            finished.countDown();
+        });
+        finished.await();
+        Platform.exit();
+    }
+
+    /**
+     * Draw a number of frames one way, and print the average draw calls and time per frame.
+     */
+    private void measure(String mode, int frames, FrameDrawer drawer) {
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int i = 0; i < WARMUP_FRAMES; i += 1) {
+            drawFrame(gc, drawer);
+        }
+        drawCalls = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < frames; i += 1) {
+            drawFrame(gc, drawer);
+        }
+        final double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%10s %16d %16.3f%n", mode, drawCalls / frames, millis / frames);
+    }
+
+    private void drawFrame(GraphicsContext gc, FrameDrawer drawer) {
+        drawer.draw(gc);
+        rendered = canvas.snapshot(snapshotParameters, rendered); // Make JavaFX render what was drawn.
+    }
+
+    /**
+     * Draw the background, bricks, ball and paddle, each sprite from its own image.
+     */
+    private void drawSeparate(GraphicsContext gc) {
+        gc.setFill(Color.DARKSLATEGRAY);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawCalls += 1;
+        for (int i = level.nextVisibleBrick(0); i >= 0; i = level.nextVisibleBrick(i + 1)) {
+            gc.drawImage(Sprites.BRICK_SHADOW.getImage(), level.brickLeft(i) + SHADOW_OFFSET,
+                    level.brickTop(i) + SHADOW_OFFSET);
+            gc.drawImage(Sprites.brick(level.brickColour(i)).getImage(), level.brickLeft(i), level.brickTop(i));
+            drawCalls += 2;
+        }
+        gc.drawImage(Sprites.BALL_SHADOW.getImage(), snapshot.ballX(0, 1) + SHADOW_OFFSET,
+                snapshot.ballY(0, 1) + SHADOW_OFFSET);
+        gc.drawImage(Sprites.BALL.getImage(), snapshot.ballX(0, 1), snapshot.ballY(0, 1));
+        gc.drawImage(Sprites.PADDLE_SHADOW.getImage(), snapshot.paddleX(1) + SHADOW_OFFSET,
+                snapshot.paddleY(1) + SHADOW_OFFSET);
+        gc.drawImage(Sprites.PADDLE.getImage(), snapshot.paddleX(1), snapshot.paddleY(1));
+        drawCalls += 4;
+    }
+
+    /**
+     * Draw the background, bricks, ball and paddle, every sprite from the atlas.
+     */
+    private void drawAtlas(GraphicsContext gc) {
+        gc.setFill(Color.DARKSLATEGRAY);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawCalls += 1;
+        for (int i = level.nextVisibleBrick(0); i >= 0; i = level.nextVisibleBrick(i + 1)) {
+            Sprites.BRICK_SHADOW.draw(gc, level.brickLeft(i) + SHADOW_OFFSET, level.brickTop(i) + SHADOW_OFFSET);
+            Sprites.brick(level.brickColour(i)).draw(gc, level.brickLeft(i), level.brickTop(i));
+            drawCalls += 2;
+        }
+        drawMoving(gc);
+    }
+
+    /**
+     * Draw the cached background and bricks, then the ball and paddle from the atlas.
+     */
+    private void drawLayer(GraphicsContext gc, BrickLayer layer) {
+        gc.drawImage(layer.getImage(), 0, 0);
+        drawCalls += 1;
+        drawMoving(gc);
+    }
+
+    private void drawMoving(GraphicsContext gc) {
+        Sprites.BALL_SHADOW.draw(gc, snapshot.ballX(0, 1) + SHADOW_OFFSET, snapshot.ballY(0, 1) + SHADOW_OFFSET);
+        Sprites.BALL.draw(gc, snapshot.ballX(0, 1), snapshot.ballY(0, 1));
+        Sprites.PADDLE_SHADOW.draw(gc, snapshot.paddleX(1) + SHADOW_OFFSET, snapshot.paddleY(1) + SHADOW_OFFSET);
+        Sprites.PADDLE.draw(gc, snapshot.paddleX(1), snapshot.paddleY(1));
+        drawCalls += 4;
+    }
+
+    /**
+     * One way of drawing a frame.
+     */
+    private interface FrameDrawer {
+        void draw(GraphicsContext gc);
+    }
+}
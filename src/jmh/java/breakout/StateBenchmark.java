@@ -0,0 +1,53 @@
+package breakout;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of saving and loading the game state (see {@link Model#saveState(ByteBuffer)}), with a level of 100,000
+ * bricks that's been played for a while, so some of the bricks have been destroyed.
+ * Run with {@code ./gradlew jmh}. Both should take well under a millisecond and allocate nothing.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+    private static final int COLUMNS = 100;
+    private static final int BRICKS = 100_000;
+
+    private Model model;
+    private ByteBuffer state;
+
+    @Setup
+    public void setUp() {
+        Debug.set(false);
+        model = new Model(COLUMNS * 30, Main.WINDOW_HEIGHT);
+        model.initialiseGame(new Level(COLUMNS, BRICKS / COLUMNS));
+        for (int i = 0; i < 1000; i += 1) {
+            model.updateGame();
+        }
+        state = ByteBuffer.allocateDirect(model.getStateSize());
+        model.saveState(state);
+    }
+
+    @Benchmark
+    public ByteBuffer save() {
+        state.clear();
+        model.saveState(state);
+        return state;
+    }
+
+    @Benchmark
+    public Model load() {
+        state.flip();
+        model.loadState(state);
+        return model;
+    }
+}
@@ -0,0 +1,106 @@
+package breakout;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Makes the sprite shadows and the different coloured bricks ahead of time, when the game is built, and saves them as
+ * images. Making them with JavaFX effects when the game starts holds up the first frame, so {@link Sprites} loads these
+ * instead (and only makes them itself if they're missing).
+ * This doesn't use JavaFX, so it can run during the build without a screen. Run it with {@code ./gradlew bakeSprites},
+ * which the build does automatically.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class AssetBaker {
+    static final String BAKED_FOLDER = "baked/"; // Where the baked images go, among the game's resources.
+
+    /* Hue is usually measured using 0-360 degrees, but JavaFX Effects measure hue as a range between -1.0 and 1.0 with
+     * red at the midpoint (0.0). Here I've hardcoded the hues of colors in a rainbow as floats. These will be used to
+     * generate different colored brick sprites. */
+    static final double[] RAINBOW_HUES = {
+            0.0 / 6.0,  // RED
+            1.0 / 6.0,  // ORANGE
+            2.0 / 6.0,  // YELLOW
+            4.0 / 6.0,  // GREEN
+            6.0 / 6.0,  // CYAN
+            -4.0 / 6.0, // BLUE
+            -2.0 / 6.0, // VIOLET
+    };
+
+    /**
+     * Bake every image.
+     * @param args The folder the game's images are in, and the folder to save the baked images in.
+     */
+    public static void main(String[] args) throws IOException {
+        final File resources = new File(args[0]);
+        final File output = new File(args[1], BAKED_FOLDER);
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("Couldn't create " + output);
+        }
+
+        for (String sprite : new String[] {"ball.png", "paddle.png", "brick.png"}) {
+            ImageIO.write(makeShadow(ImageIO.read(new File(resources, sprite))), "png",
+                    new File(args[1], shadowName(sprite)));
+        }
+        final BufferedImage brick = ImageIO.read(new File(resources, "brick.png"));
+        for (int colour = 0; colour < RAINBOW_HUES.length; colour += 1) {
+            ImageIO.write(hueShift(brick, RAINBOW_HUES[colour]), "png", new File(args[1], brickName(colour)));
+        }
+    }
+
+    /**
+     * {@return resource name of a sprite's baked shadow}
+     * @param sprite Resource name of the sprite, e.g. "ball.png".
+     */
+    static String shadowName(String sprite) {
+        return BAKED_FOLDER + sprite.replace(".png", "_shadow.png");
+    }
+
+    /**
+     * {@return resource name of a baked brick sprite}
+     * @param colour Index of the brick's colour, see {@link Level#brickColour(int)}.
+     */
+    static String brickName(int colour) {
+        return BAKED_FOLDER + "brick_" + colour + ".png";
+    }
+
+    /**
+     * Create a solid black version of a sprite to use as its shadow, the same as {@link Sprites} does with a
+     * ColorAdjust effect with brightness -1.
+     */
+    private static BufferedImage makeShadow(BufferedImage sprite) {
+        final BufferedImage shadow = new BufferedImage(sprite.getWidth(), sprite.getHeight(),
+                BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < sprite.getHeight(); y += 1) {
+            for (int x = 0; x < sprite.getWidth(); x += 1) {
+                shadow.setRGB(x, y, sprite.getRGB(x, y) & 0xff000000); // Keep the transparency, make it black.
+            }
+        }
+        return shadow;
+    }
+
+    /**
+     * Create a different coloured version of a sprite, the same as {@link Sprites} does with a ColorAdjust effect.
+     * @param hue How far to shift the hue, from -1.0 to 1.0 (all the way round the colour wheel).
+     */
+    private static BufferedImage hueShift(BufferedImage sprite, double hue) {
+        final BufferedImage shifted = new BufferedImage(sprite.getWidth(), sprite.getHeight(),
+                BufferedImage.TYPE_INT_ARGB);
+        final float[] hsb = new float[3];
+        for (int y = 0; y < sprite.getHeight(); y += 1) {
+            for (int x = 0; x < sprite.getWidth(); x += 1) {
+                final int argb = sprite.getRGB(x, y);
+                Color.RGBtoHSB((argb >> 16) & 0xff, (argb >> 8) & 0xff, argb & 0xff, hsb);
+                // The effect's -1.0 to 1.0 is half a turn either way, but HSB hue goes from 0.0 to 1.0 for a full turn.
+                final float shiftedHue = hsb[0] + (float) (hue / 2);
+                final int rgb = Color.HSBtoRGB(shiftedHue - (float) Math.floor(shiftedHue), hsb[1], hsb[2]);
+                shifted.setRGB(x, y, (argb & 0xff000000) | (rgb & 0x00ffffff));
+            }
+        }
+        return shifted;
+    }
+}
@@ -0,0 +1,106 @@
+package breakout;
+
+import java.util.List;
+
+/**
+ * Moves the paddle instead of the keyboard (see {@link Model#setAutopilot(Autopilot)}), by working out where the ball
+ * will be when it comes down to the paddle and going there.
+ * <p>
+ * Rather than stepping the ball forward tick by tick to find where it lands, the landing place is worked out in one
+ * go: bouncing between the side walls is the same as carrying on in a straight line through copies of the screen
+ * reflected side by side, so the ball's X where it reaches the paddle is its straight-line X "folded" back into the
+ * screen. That makes each decision take the same time however far away the ball is, and a few multiplications per
+ * ball, so thousands of games can be played at once with it (see {@link BatchRunner}).
+ * The prediction ignores bricks, so it's wrong while a ball is among them, but it's worked out again every tick, so it
+ * corrects itself once the ball comes out.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Autopilot {
+    private double landingX = Double.NaN; // Where the ball being followed will land, see getLandingX().
+
+    /**
+     * Decide which way to move the paddle this tick, towards where the first ball to reach it will land.
+     * @param balls The balls in play.
+     * @param paddle The paddle.
+     * @param screenWidth The screen's width.
+     * @param menuHeight The menu's height (highest the balls can go).
+     * @return -1 to move left, 1 to move right, or 0 to stay where it is.
+     */
+    int steer(List<Ball> balls, Paddle paddle, int screenWidth, int menuHeight) {
+        // Follow whichever ball will reach the paddle first.
+        Ball first = null;
+        double firstTicks = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < balls.size(); i += 1) {
+            final double ticks = ticksToReach(balls.get(i), paddle.top(), menuHeight);
+            if (ticks < firstTicks) {
+                first = balls.get(i);
+                firstTicks = ticks;
+            }
+        }
+        if (first == null) { // Nothing is coming, so stay put.
+            landingX = Double.NaN;
+            return 0;
+        }
+
+        landingX = landingX(first, firstTicks, screenWidth);
+        final double target = Math.clamp(landingX + (first.width() - paddle.width()) / 2.0, 0,
+                screenWidth - paddle.width());
+        final double distance = target - paddle.left();
+        if (Math.abs(distance) < paddle.getSpeed()) { // Close enough, moving would only overshoot.
+            return 0;
+        }
+        return distance < 0 ? -1 : 1;
+    }
+
+    /**
+     * {@return the X coordinate of the left side of the ball being followed where it will reach the paddle, as of the
+     * last {@link #steer}, or NaN if no ball is coming}
+     */
+    double getLandingX() {
+        return landingX;
+    }
+
+    /**
+     * Work out how many ticks until a ball's bottom reaches a height, going up to the top of the screen and back down
+     * first if it's moving up. Bricks are ignored.
+     * @param ball The ball.
+     * @param y The height, usually the paddle's top.
+     * @param menuHeight The menu's height (highest the ball can go).
+     * @return Number of ticks (which can be a fraction), or infinity if it never will, e.g. it's already below.
+     */
+    static double ticksToReach(Ball ball, int y, int menuHeight) {
+        final int dy = ball.getVelocity().getY();
+        final int distance;
+        if (dy > 0) {
+            distance = y - ball.bottom();
+        } else if (dy < 0) { // Up to the top, then all the way down.
+            distance = (ball.top() - menuHeight) + (y - ball.height() - menuHeight);
+        } else {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distance < 0 ? Double.POSITIVE_INFINITY : (double) distance / Math.abs(dy);
+    }
+
+    /**
+     * Work out where a ball's left side will be after some ticks, bouncing off the side walls on the way.
+     * @param ball The ball.
+     * @param ticks Number of ticks, see {@link #ticksToReach(Ball, int, int)}.
+     * @param screenWidth The screen's width.
+     * @return The X coordinate, between 0 and the screen's width less the ball's.
+     */
+    static double landingX(Ball ball, double ticks, int screenWidth) {
+        final double range = screenWidth - ball.width(); // Furthest left the ball's left side can go.
+        if (range <= 0) {
+            return 0;
+        }
+        // Where it would be with no walls, then folded back into the screen: every 2 * range it's back where it
+        // started, moving the same way, and in the second half of that it's on its way back from the right wall.
+        final double unfolded = ball.left() + ball.getVelocity().getX() * ticks;
+        double folded = unfolded % (2 * range);
+        if (folded < 0) {
+            folded += 2 * range;
+        }
+        return folded <= range ? folded : 2 * range - folded;
+    }
+}
@@ -0,0 +1,47 @@
+package breakout;
+
+/**
+ * Bounces across the screen and damages bricks.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Ball extends KineticGameObj {
+    private static final Vector2 SIZE = new Vector2(10, 10);
+
+    static final int SPEED = 3; // Distance to move the ball on each step (at 60 ticks per second)
+
+    private final int speed;
+
+    /**
+     * Create a new ball at the specified position.
+     * The ball's size is 10x10 pixels, and it's initial velocity is down and to the right.
+     * @param position The initial position of the ball's top left corner.
+     */
+    Ball(Vector2 position) {
+        this(position, SPEED);
+    }
+
+    /**
+     * Create a new ball at the specified position, which moves at a different speed to usual.
+     * @param position The initial position of the ball's top left corner.
+     * @param speed Distance to move the ball on each step (on each axis).
+     */
+    Ball(Vector2 position, int speed) {
+        super(position, SIZE);
+        this.speed = speed;
+        setVelocity(new Vector2(speed, speed));
+    }
+
+    /**
+     * Put the ball back at a position with its initial velocity, as if it had just been created there.
+     * Used to respawn the ball without creating a new one.
+     * @param x The X coordinate to put the ball's left side at.
+     * @param y The Y coordinate to put the ball's top side at.
+     */
+    void reset(int x, int y) {
+        moveTo(x, y);
+        rememberPosition();
+        getVelocity().setX(speed);
+        getVelocity().setY(speed);
+    }
+}
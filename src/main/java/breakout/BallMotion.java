@@ -0,0 +1,214 @@
+package breakout;
+
+/**
+ * Works out where one {@link Ball} goes during one tick, bouncing off anything it hits along the way.
+ * Rather than moving the ball and then checking whether it's inside something, this works out the first thing the ball
+ * would hit on its way (using swept collisions), moves it up to that point, bounces, and repeats with whatever distance
+ * is left. This way a fast ball can't pass straight through a brick, and it can break more than one brick per tick.
+ * <p>
+ * When there are lots of balls, the {@link Model} moves them all at the same time on different threads. To do that
+ * safely, a ball first {@link #plan plans} its movement without destroying any bricks, just remembering which ones it
+ * hit. Then, one ball at a time in order, the plan is either {@link #commit committed} (destroying those bricks) or, if
+ * an earlier ball has already destroyed one of them, thrown away and {@link #replay replayed} against the bricks that
+ * are left. The result is exactly the same as moving the balls one at a time.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class BallMotion {
+    static final int MAX_CONTACTS = 8; // Most things a ball can bounce off in one tick.
+
+    // Reused for every collision, rather than making new ones.
+    private final Collision edgeContact = new Collision();
+    private final Collision paddleContact = new Collision();
+    private final Collision brickContact = new Collision();
+
+    private final int[] bricksHit = new int[MAX_CONTACTS]; // Indexes of the bricks hit, in the order they were hit.
+    private int bricksHitCount;
+    private int contactCount;     // Number of things the ball bounced off (or stopped at).
+    private boolean hitBottom;    // Whether the ball reached the bottom of the screen.
+    private boolean clearedLevel; // Whether the ball destroyed the last brick in the level.
+    private boolean needsReplay;  // Whether the plan couldn't be finished without destroying bricks.
+
+    // Where the ball was, and how fast it was going, at the start of the tick.
+    private int startX;
+    private int startY;
+    private int startVelocityX;
+    private int startVelocityY;
+
+    /**
+     * Move a ball for one tick without destroying any bricks, remembering which bricks it hit.
+     * This only reads the level and paddle, so many balls can plan at the same time on different threads.
+     * @param ball The ball to move.
+     * @param level The level containing the bricks the ball might hit.
+     * @param paddle The paddle, or null if the ball is too far away to hit it.
+     * @param screenWidth The screen's width.
+     * @param screenHeight The screen's height.
+     * @param menuHeight The menu's height (highest the ball can go).
+     */
+    void plan(Ball ball, Level level, GameObj paddle, int screenWidth, int screenHeight, int menuHeight) {
+        startX = ball.left();
+        startY = ball.top();
+        startVelocityX = ball.getVelocity().getX();
+        startVelocityY = ball.getVelocity().getY();
+        move(ball, level, paddle, screenWidth, screenHeight, menuHeight, false);
+    }
+
+    /**
+     * {@return whether the plan can be committed, i.e. it was finished and every brick it hit is still visible}
+     * @param level The level the plan was made in.
+     */
+    boolean canCommit(Level level) {
+        if (needsReplay) {
+            return false;
+        }
+        for (int i = 0; i < bricksHitCount; i += 1) {
+            if (!level.isBrickVisible(bricksHit[i])) { // Another ball got there first.
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Destroy the bricks hit in the plan. Only call this if {@link #canCommit(Level)} is true.
+     * @param level The level the plan was made in.
+     */
+    void commit(Level level) {
+        for (int i = 0; i < bricksHitCount; i += 1) {
+            if (level.brickDestroyed(bricksHit[i]) <= 0) {
+                clearedLevel = true;
+            }
+        }
+    }
+
+    /**
+     * Throw the plan away, put the ball back where it was at the start of the tick, and move it again, destroying
+     * bricks as soon as they're hit.
+     * @param ball The ball to move, which must be the ball that made the plan.
+     * @param level The level containing the bricks the ball might hit.
+     * @param paddle The paddle, or null if the ball is too far away to hit it.
+     * @param screenWidth The screen's width.
+     * @param screenHeight The screen's height.
+     * @param menuHeight The menu's height (highest the ball can go).
+     */
+    void replay(Ball ball, Level level, GameObj paddle, int screenWidth, int screenHeight, int menuHeight) {
+        ball.moveTo(startX, startY);
+        ball.getVelocity().setX(startVelocityX);
+        ball.getVelocity().setY(startVelocityY);
+        move(ball, level, paddle, screenWidth, screenHeight, menuHeight, true);
+    }
+
+    /**
+     * Move the ball one step, bouncing off anything it hits along the way.
+     * @param destroyBricks Whether to destroy bricks as they're hit, or just remember them.
+     */
+    private void move(Ball ball, Level level, GameObj paddle, int screenWidth, int screenHeight, int menuHeight,
+                      boolean destroyBricks) {
+        bricksHitCount = 0;
+        contactCount = 0;
+        hitBottom = false;
+        clearedLevel = false;
+        needsReplay = false;
+
+        int dx = ball.getVelocity().getX(); // Distance left to move this tick.
+        int dy = ball.getVelocity().getY();
+        for (int contacts = 0; contacts < MAX_CONTACTS && (dx != 0 || dy != 0); contacts += 1) {
+            // Find the first thing the ball hits: an edge of the screen, the paddle, or a brick.
+            Collision first = null;
+            if (edgeContact.sweepScreenEdges(ball, dx, dy, screenWidth, screenHeight, menuHeight)) {
+                first = edgeContact;
+            }
+            if (paddle != null
+                    && paddleContact.sweep(ball, dx, dy, paddle.left(), paddle.top(), paddle.right(), paddle.bottom())
+                    && (first == null || paddleContact.getTime() < first.getTime())) {
+                first = paddleContact;
+            }
+            final int brick = level.sweepBricks(ball, dx, dy, brickContact);
+            if (brick >= 0 && (first == null || brickContact.getTime() < first.getTime())) {
+                if (!destroyBricks && wasHit(brick)) { // Only destroyed bricks can be hit twice.
+                    needsReplay = true;
+                    return;
+                }
+                first = brickContact;
+            }
+
+            if (first == null) { // The ball doesn't hit anything, so it can move all the way.
+                ball.translateX(dx);
+                ball.translateY(dy);
+                return;
+            }
+
+            // Move up to the thing that was hit.
+            contactCount += 1;
+            ball.translateX(first.getMoveX());
+            ball.translateY(first.getMoveY());
+            dx -= first.getMoveX();
+            dy -= first.getMoveY();
+
+            if (first == edgeContact && first.getHitY() && ball.movingDown()) { // Hit bottom.
+                hitBottom = true;
+                return;
+            }
+
+            // Flip velocities (and the distance left to move) based on collision info.
+            if (first.getHitX()) {
+                ball.changeDirectionX();
+                dx = -dx;
+            }
+            if (first.getHitY()) {
+                ball.changeDirectionY();
+                dy = -dy;
+            }
+
+            // The ball has no effect on an invisible brick, so the brick it hit must be visible.
+            if (first == brickContact) {
+                bricksHit[bricksHitCount] = brick;
+                bricksHitCount += 1;
+                if (destroyBricks && level.brickDestroyed(brick) <= 0) { // All bricks have been destroyed.
+                    clearedLevel = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@return whether a brick is already in the list of bricks hit this tick}
+     */
+    private boolean wasHit(int brick) {
+        for (int i = 0; i < bricksHitCount; i += 1) {
+            if (bricksHit[i] == brick) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return number of bricks the ball hit this tick}
+     */
+    int getBricksHit() {
+        return bricksHitCount;
+    }
+
+    /**
+     * {@return number of things the ball bounced off this tick, including the edges of the screen and the paddle}
+     */
+    int getContacts() {
+        return contactCount;
+    }
+
+    /**
+     * {@return whether the ball reached the bottom of the screen this tick}
+     */
+    boolean getHitBottom() {
+        return hitBottom;
+    }
+
+    /**
+     * {@return whether the ball destroyed the last brick in the level this tick}
+     */
+    boolean getClearedLevel() {
+        return clearedLevel;
+    }
+}
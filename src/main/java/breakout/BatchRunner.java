@@ -0,0 +1,257 @@
+package breakout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays lots of games at once without a GUI, as fast as possible, and reports how quickly they ran and how they scored.
+ * Each game is its own {@link Model} with nothing shared between them (sprites live in {@link Sprites}, which this
+ * never touches), so games on different threads never wait for each other. The paddle is moved by a script rather than
+ * the keyboard, so the same seed always plays the same games.
+ * <p>
+ * Run it with {@code ./gradlew runBatch --args="..."}. The options are:
+ * <ul>
+ *     <li>{@code --games N} number of games to play (default 1000).</li>
+ *     <li>{@code --threads 1,2,4,...} threads to play them on, one run for each (default every core).</li>
+ *     <li>{@code --ticks N} most updates to run in one game before giving up on it (default 100000).</li>
+ *     <li>{@code --paddle random|follow|autopilot} how the paddle moves (default follow), see
+ *     {@link PaddleScript}.</li>
+ *     <li>{@code --seed N} seed for the paddle scripts (default 1).</li>
+ * </ul>
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public class BatchRunner {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_MAX_TICKS = 100_000;
+
+    /**
+     * Ways of moving the paddle without a keyboard.
+     */
+    enum PaddleScript {
+        /** Hold left, right or nothing at random, changing every so often. */
+        RANDOM,
+        /** Follow the ball, but sometimes lose concentration for a moment so games do end. */
+        FOLLOW,
+        /** Let the {@link Autopilot} move it, which rarely misses, so it's good for long soak tests. */
+        AUTOPILOT
+    }
+
+    private static final int RANDOM_HOLD_TICKS = 15;       // How long the random paddle holds each choice.
+    private static final double FOLLOW_DISTRACTED = 0.002; // Chance per update of the following paddle looking away.
+    private static final int FOLLOW_DISTRACTED_TICKS = 40; // How long it looks away for.
+
+    /**
+     * The outcome of one game.
+     */
+    static final class GameResult {
+        final long ticks; // Number of updates the game ran for.
+        final int score;  // Final score.
+
+        GameResult(long ticks, int score) {
+            this.ticks = ticks;
+            this.score = score;
+        }
+    }
+
+    /**
+     * The options given on the command line, see the class description.
+     */
+    static final class Options {
+        int games = DEFAULT_GAMES;
+        int[] threadCounts = {Runtime.getRuntime().availableProcessors()};
+        int maxTicks = DEFAULT_MAX_TICKS;
+        PaddleScript script = PaddleScript.FOLLOW;
+        long seed = 1;
+
+        /**
+         * Read the options from the command line.
+         * @param args The command line arguments, an option name followed by its value for each option given.
+         * @return The options, with the defaults for any that weren't given.
+         * @throws IllegalArgumentException If an option isn't known, has no value, or its value isn't valid.
+         */
+        static Options parse(String[] args) {
+            final Options options = new Options();
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("No value given for " + args[i]);
+                }
+                final String option = args[i];
+                final String value = args[i + 1];
+                switch (option) {
+                    case "--games" -> options.games = positive(option, value);
+                    case "--threads" -> options.threadCounts =
+                            Arrays.stream(value.split(",")).mapToInt(threads -> positive(option, threads)).toArray();
+                    case "--ticks" -> options.maxTicks = positive(option, value);
+                    case "--paddle" -> options.script = paddleScript(value);
+                    case "--seed" -> options.seed = seed(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            return options;
+        }
+
+        private static int positive(String option, String value) {
+            final int number;
+            try {
+                number = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(option + " must be a whole number: " + value);
+            }
+            if (number < 1) {
+                throw new IllegalArgumentException(option + " must be at least 1: " + value);
+            }
+            return number;
+        }
+
+        private static PaddleScript paddleScript(String value) {
+            try {
+                return PaddleScript.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("--paddle must be random, follow or autopilot: " + value);
+            }
+        }
+
+        private static long seed(String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("--seed must be a whole number: " + value);
+            }
+        }
+    }
+
+    /**
+     * Play the games and print a report for each number of threads.
+     * @param args Options, see the class description.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchRunner [--games N] [--threads 1,2,4,...] [--ticks N] "
+                    + "[--paddle random|follow|autopilot] [--seed N]");
+            System.exit(1);
+            return;
+        }
+        final int games = options.games;
+        final int maxTicks = options.maxTicks;
+        final PaddleScript script = options.script;
+        final long seed = options.seed;
+
+        Debug.set(false); // Printing from every game would be far slower than the games themselves.
+        Metrics.register(); // So a long run can be watched, e.g. in JConsole.
+        System.out.printf("%d games, %s paddle, at most %d ticks each%n", games, script.name().toLowerCase(), maxTicks);
+        System.out.printf("%8s %10s %14s %10s %8s %8s %8s %8s %8s%n",
+                "threads", "seconds", "ticks/s", "games/s", "min", "median", "p90", "max", "mean");
+        for (int threads : options.threadCounts) {
+            final long start = System.nanoTime();
+            final GameResult[] results = playGames(games, threads, maxTicks, script, seed);
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            printReport(threads, seconds, results);
+        }
+    }
+
+    /**
+     * Play games on a pool of threads, one task per game.
+     * @param games Number of games to play.
+     * @param threads Number of threads to play them on.
+     * @param maxTicks Most updates to run in one game.
+     * @param script How to move the paddle.
+     * @param seed Seed for the paddle scripts, game {@code i} uses {@code seed + i} so results don't depend on threads.
+     * @return The result of each game, in order.
+     */
+    static GameResult[] playGames(int games, int threads, int maxTicks, PaddleScript script, long seed)
+            throws InterruptedException, ExecutionException {
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i += 1) {
+                final long gameSeed = seed + i;
+                futures.add(pool.submit(() -> playGame(maxTicks, script, gameSeed)));
+            }
+            final GameResult[] results = new GameResult[games];
+            for (int i = 0; i < games; i += 1) {
+                results[i] = futures.get(i).get();
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Play one game until it's over (or has run for too long), stepping it as fast as possible.
+     * @param maxTicks Most updates to run.
+     * @param script How to move the paddle.
+     * @param seed Seed for the paddle script.
+     * @return How long the game ran and what it scored.
+     */
+    static GameResult playGame(int maxTicks, PaddleScript script, long seed) {
+        final Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        if (script == PaddleScript.AUTOPILOT) {
+            model.setAutopilot(new Autopilot());
+        }
+        final SplittableRandom random = new SplittableRandom(seed);
+        int distracted = 0; // Updates left that the following paddle is looking away for.
+        long ticks = 0;
+        while (!model.getGameFinished() && ticks < maxTicks) {
+            if (script == PaddleScript.RANDOM) {
+                if (ticks % RANDOM_HOLD_TICKS == 0) {
+                    final int choice = random.nextInt(3); // 0 is left, 1 is right, 2 is neither.
+                    model.setLeftHeld(choice == 0);
+                    model.setRightHeld(choice == 1);
+                }
+            } else if (script == PaddleScript.AUTOPILOT) {
+                // The model asks the autopilot itself.
+            } else if (distracted > 0) {
+                distracted -= 1;
+            } else if (random.nextDouble() < FOLLOW_DISTRACTED) {
+                distracted = FOLLOW_DISTRACTED_TICKS;
+                model.setLeftHeld(false);
+                model.setRightHeld(false);
+            } else {
+                final int paddleCentre = model.getPaddle().left() + model.getPaddle().width() / 2;
+                model.setLeftHeld(model.getBall().right() < paddleCentre);
+                model.setRightHeld(model.getBall().left() > paddleCentre);
+            }
+            model.updateGame();
+            ticks += 1;
+        }
+        return new GameResult(ticks, model.getScore());
+    }
+
+    /**
+     * Print one line of the report: how fast the games ran and how the scores were spread out.
+     */
+    private static void printReport(int threads, double seconds, GameResult[] results) {
+        final int[] scores = new int[results.length];
+        long ticks = 0;
+        long totalScore = 0;
+        for (int i = 0; i < results.length; i += 1) {
+            scores[i] = results[i].score;
+            ticks += results[i].ticks;
+            totalScore += results[i].score;
+        }
+        Arrays.sort(scores);
+        System.out.printf("%8d %10.2f %14.0f %10.1f %8d %8d %8d %8d %8.0f%n", threads, seconds, ticks / seconds,
+                results.length / seconds, scores[0], percentile(scores, 0.5), percentile(scores, 0.9),
+                scores[scores.length - 1], (double) totalScore / results.length);
+    }
+
+    /**
+     * {@return the score that a fraction of the (sorted) scores are at or below}
+     */
+    private static int percentile(int[] sortedScores, double fraction) {
+        return sortedScores[(int) Math.min(sortedScores.length - 1, Math.floor(fraction * sortedScores.length))];
+    }
+}
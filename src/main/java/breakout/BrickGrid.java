@@ -0,0 +1,90 @@
+package breakout;
+
+/**
+ * A uniform grid over a {@link Level}'s bricks, so we can find the bricks near the ball without checking every brick.
+ * Each cell is exactly one place in the level's grid, so cell i is brick i and nothing has to be stored for each cell:
+ * the level's visible bricks say which cells still have a brick in. This is what makes a level of millions of bricks
+ * quick to open without using any memory per brick. Places without a brick are cells too (they're never visible), so
+ * bricks can appear in them later, see {@link Level#scroll()}.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class BrickGrid {
+    private final Level level;
+
+    private final int originX;    // X coordinate of the grid's left side.
+    private final int originY;    // Y coordinate of the grid's top side.
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int columns;
+    private final int rows;
+
+    /**
+     * Build a grid over a level's bricks.
+     * @param level The level to put in the grid. Bricks must not move after the grid is built.
+     */
+    BrickGrid(Level level) {
+        this.level = level;
+        originX = level.getOriginX();
+        originY = level.getOriginY();
+        cellWidth = level.getBrickWidth();
+        cellHeight = level.getBrickHeight();
+        columns = level.getColumns();
+        rows = level.getRows();
+    }
+
+    private int column(int x) {
+        return Math.floorDiv(x - originX, cellWidth);
+    }
+    private int row(int y) {
+        return Math.floorDiv(y - originY, cellHeight);
+    }
+
+    /**
+     * Find the first visible brick a moving object will hit while moving a certain distance. Only the bricks in the
+     * cells that the object moves through are checked, so this takes the same time no matter how many bricks there
+     * are. If it would hit more than one brick at the same time, the one with the lowest index is picked.
+     * @param moving The object which is about to move, usually the ball.
+     * @param dx Distance it's going to move on the X-axis.
+     * @param dy Distance it's going to move on the Y-axis.
+     * @param contact Filled in with the details of the collision with the brick that's hit.
+     * @return The index of the brick, or -1 if the object won't hit any bricks.
+     */
+    int firstContact(KineticGameObj moving, int dx, int dy, Collision contact) {
+        // The area the object moves through.
+        final int firstColumn = Math.max(column(Math.min(moving.left(), moving.left() + dx)), 0);
+        final int lastColumn = Math.min(column(Math.max(moving.right(), moving.right() + dx) - 1), columns - 1);
+        final int firstRow = Math.max(row(Math.min(moving.top(), moving.top() + dy)), 0);
+        final int lastRow = Math.min(row(Math.max(moving.bottom(), moving.bottom() + dy) - 1), rows - 1);
+
+        int hit = -1;
+        float hitTime = Float.POSITIVE_INFINITY;
+        int tested = 0; // Number of bricks checked, for the metrics.
+        for (int row = firstRow; row <= lastRow; row += 1) {
+            for (int column = firstColumn; column <= lastColumn; column += 1) {
+                final int brick = row * columns + column; // The cell is the brick.
+                if (!level.isBrickVisible(brick)) {
+                    continue;
+                }
+                tested += 1;
+                if (sweep(moving, dx, dy, brick, contact)
+                        && (contact.getTime() < hitTime || (contact.getTime() == hitTime && brick < hit))) {
+                    hit = brick;
+                    hitTime = contact.getTime();
+                }
+            }
+        }
+        if (tested > 0) {
+            Metrics.COLLISION_CANDIDATES.add(tested);
+        }
+        if (hit >= 0) { // The contact might have been overwritten by a later brick, so fill it in again.
+            sweep(moving, dx, dy, hit, contact);
+        }
+        return hit;
+    }
+
+    private boolean sweep(KineticGameObj moving, int dx, int dy, int brick, Collision contact) {
+        return contact.sweep(moving, dx, dy, level.brickLeft(brick), level.brickTop(brick), level.brickRight(brick),
+                level.brickBottom(brick));
+    }
+}
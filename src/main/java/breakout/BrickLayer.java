@@ -0,0 +1,189 @@
+package breakout;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.BitSet;
+
+/**
+ * A picture of everything in the game that doesn't move - the menu bar, the background and the bricks - so the
+ * {@link View} can draw it all with one image rather than two images per brick.
+ * Bricks only change when one is destroyed, so the picture is drawn once per level, then only the bit where a brick
+ * was is redrawn when it's destroyed (or all of it when an endless level scrolls). That way drawing a frame takes the
+ * same time however many bricks there are.
+ * The picture is drawn on a canvas which isn't shown on screen, then copied into an image. This must only be used on
+ * the JavaFX application thread.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class BrickLayer {
+    private final int width;
+    private final int height;
+    private final Paint background;
+    private final int shadowOffset;
+
+    private final Canvas canvas; // Where the picture is drawn, it's never put on screen.
+    private final WritableImage image; // Copy of the canvas that the View draws.
+    private WritableImage patch;       // Copy of the part of the canvas that's just been redrawn.
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+
+    // The bricks in the picture, so we can tell which have been destroyed since it was drawn.
+    private Level level;
+    private int version;
+    private long rowsScrolled; // Rows the level had scrolled, every brick moves when it scrolls.
+    private final BitSet drawnBricks = new BitSet();
+    private final BitSet visibleBricks = new BitSet();
+    private final BitSet changedBricks = new BitSet(); // Bricks that have come back, or have been destroyed.
+
+    /**
+     * Create an empty layer, it's drawn the first time it's {@link #update updated}.
+     * @param width Width of the window.
+     * @param height Height of the window.
+     * @param background What to fill the play area with, behind the bricks.
+     * @param shadowOffset Distance shadows are drawn down and to the right of bricks.
+     */
+    BrickLayer(int width, int height, Paint background, int shadowOffset) {
+        this.width = width;
+        this.height = height;
+        this.background = background;
+        this.shadowOffset = shadowOffset;
+        canvas = new Canvas(width, height);
+        image = new WritableImage(width, height);
+    }
+
+    /**
+     * Bring the picture up to date with the bricks in a snapshot.
+     * If bricks have been destroyed, only the parts of the picture where they were are redrawn, and those parts are
+     * added to the dirty regions so the View copies them to the screen.
+     * @param snapshot The game state being drawn.
+     * @param dirty The parts of the screen that need redrawing this frame.
+     * @return Whether the whole picture was redrawn (e.g. a new level), so the whole screen needs redrawing too.
+     */
+    boolean update(GameSnapshot snapshot, DirtyRegions dirty) {
+        if (snapshot.getLevel() != level || snapshot.getRowsScrolled() != rowsScrolled) {
+            redrawAll(snapshot);
+            return true;
+        }
+        if (snapshot.getBrickVersion() == version) { // Nothing has changed.
+            return false;
+        }
+
+        // Compare a word of bricks at a time rather than brick by brick: bricks visible now but not drawn have come
+        // back, so the level must have been reset, and bricks drawn but not visible now have been destroyed.
+        snapshot.copyVisibleBricks(visibleBricks);
+        changedBricks.clear();
+        changedBricks.or(visibleBricks);
+        changedBricks.andNot(drawnBricks);
+        if (!changedBricks.isEmpty()) {
+            redrawAll(snapshot);
+            return true;
+        }
+        changedBricks.or(drawnBricks);
+        changedBricks.andNot(visibleBricks);
+        for (int i = changedBricks.nextSetBit(0); i >= 0; i = changedBricks.nextSetBit(i + 1)) {
+            final int x = level.brickLeft(i);
+            final int y = level.brickTop(i);
+            final int brickWidth = level.getBrickWidth() + shadowOffset;
+            final int brickHeight = level.getBrickHeight() + shadowOffset;
+            redrawPart(snapshot, x, y, brickWidth, brickHeight);
+            dirty.add(x, y, brickWidth, brickHeight);
+        }
+        drawnBricks.clear();
+        drawnBricks.or(visibleBricks);
+        version = snapshot.getBrickVersion();
+        return false;
+    }
+
+    /**
+     * Draw the whole picture from scratch.
+     */
+    private void redrawAll(GameSnapshot snapshot) {
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, width, Model.MENU_HEIGHT);
+        drawBricks(gc, snapshot, 0, Model.MENU_HEIGHT, width, height - Model.MENU_HEIGHT);
+        canvas.snapshot(snapshotParameters, image);
+
+        level = snapshot.getLevel();
+        version = snapshot.getBrickVersion();
+        rowsScrolled = snapshot.getRowsScrolled();
+        snapshot.copyVisibleBricks(drawnBricks);
+    }
+
+    /**
+     * Redraw one rectangle of the picture, and copy just that rectangle into the image.
+     */
+    private void redrawPart(GameSnapshot snapshot, int x, int y, int partWidth, int partHeight) {
+        // Cut the rectangle down to fit in the play area.
+        final int left = Math.max(x, 0);
+        final int top = Math.max(y, Model.MENU_HEIGHT);
+        final int right = Math.min(x + partWidth, width);
+        final int bottom = Math.min(y + partHeight, height);
+        if (left >= right || top >= bottom) {
+            return;
+        }
+
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(left, top, right - left, bottom - top);
+        gc.clip();
+        drawBricks(gc, snapshot, left, top, right - left, bottom - top);
+        gc.restore();
+
+        snapshotParameters.setViewport(new Rectangle2D(left, top, right - left, bottom - top));
+        patch = canvas.snapshot(snapshotParameters, patch); // Reuses the patch image if it's big enough.
+        snapshotParameters.setViewport(null);
+        image.getPixelWriter().setPixels(left, top, right - left, bottom - top, patch.getPixelReader(), 0, 0);
+    }
+
+    /**
+     * Fill a rectangle with the background, then draw the bricks that overlap it.
+     */
+    private void drawBricks(GraphicsContext gc, GameSnapshot snapshot, int x, int y, int partWidth, int partHeight) {
+        gc.setFill(background);
+        gc.fillRect(x, y, partWidth, partHeight);
+
+        // Bricks are drawn the level's brick size, which is where the ball hits them, whatever size the sprite is.
+        final Level level = snapshot.getLevel();
+        final int brickWidth = level.getBrickWidth();
+        final int brickHeight = level.getBrickHeight();
+        final int spriteWidth = brickWidth + shadowOffset;
+        final int spriteHeight = brickHeight + shadowOffset;
+        if (brickWidth <= 0 || brickHeight <= 0 || level.getColumns() == 0) {
+            return;
+        }
+
+        // Only look at the rows and columns of the grid whose bricks (with their shadows) overlap the rectangle, so
+        // redrawing where one brick was doesn't look at every other brick.
+        final int columns = level.getColumns();
+        final int firstColumn = Math.max(0, Math.floorDiv(x - spriteWidth - level.getOriginX(), brickWidth) + 1);
+        final int lastColumn = Math.min(columns - 1, Math.floorDiv(x + partWidth - 1 - level.getOriginX(), brickWidth));
+        final int firstRow = Math.max(0, Math.floorDiv(y - spriteHeight - level.getOriginY(), brickHeight) + 1);
+        final int lastRow = Math.min(level.getRows() - 1,
+                Math.floorDiv(y + partHeight - 1 - level.getOriginY(), brickHeight));
+        for (int row = firstRow; row <= lastRow && firstColumn <= lastColumn; row += 1) {
+            final int rowEnd = row * columns + lastColumn;
+            for (int i = snapshot.nextVisibleBrick(row * columns + firstColumn); i >= 0 && i <= rowEnd;
+                 i = snapshot.nextVisibleBrick(i + 1)) {
+                final int brickX = level.brickLeft(i);
+                final int brickY = level.brickTop(i);
+                Sprites.BRICK_SHADOW.draw(gc, brickX + shadowOffset, brickY + shadowOffset, brickWidth, brickHeight);
+                Sprites.brick(snapshot.brickColour(i)).draw(gc, brickX, brickY, brickWidth, brickHeight);
+            }
+        }
+    }
+
+    /**
+     * {@return the picture of the menu bar, background and bricks, the same size as the window}
+     */
+    Image getImage() {
+        return image;
+    }
+}
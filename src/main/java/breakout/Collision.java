@@ -0,0 +1,322 @@
+package breakout;
+
+/**
+ * Figure out which side(s) a collision occurred and how far the moving object passed through the stationary object.
+ * A Collision can be reused for more than one collision (see {@link #detectScreenEdges(KineticGameObj, int, int, int)}
+ * and {@link #detect(KineticGameObj, int, int, int, int)}) so the game doesn't create new objects on every update.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Collision {
+    private boolean hitX;
+    private boolean hitY;
+    private int xPenetration;
+    private int yPenetration;
+    private float time;  // When a swept collision happened, as a fraction of the movement (0.0 to 1.0).
+    private int moveX;   // How far the moving object can move before touching the other object.
+    private int moveY;
+
+    /**
+     * Information about a collision between a moving object and the edges of the screen.
+     * Unlike {@link Collision#Collision(KineticGameObj, GameObj)}, this constructor may be called at any time.
+     * @param moving The object which is moving.
+     * @param screenWidth The screen's width (furthest right the object's right side can go).
+     * @param screenHeight The screen's height (lowest the object's bottom side can go).
+     * @param menuHeight The menu's height (highest the objects top side can go).
+     */
+    Collision(KineticGameObj moving, int screenWidth, int screenHeight, int menuHeight) {
+        detectScreenEdges(moving, screenWidth, screenHeight, menuHeight);
+    }
+
+    /**
+     * Create an empty Collision, to be filled in by {@link #detectScreenEdges(KineticGameObj, int, int, int)} or
+     * {@link #detect(KineticGameObj, int, int, int, int)}.
+     */
+    Collision() {
+    }
+
+    /**
+     * Replace this collision's details with a collision between a moving object and the edges of the screen.
+     * See {@link Collision#Collision(KineticGameObj, int, int, int)}.
+     * @param moving The object which is moving.
+     * @param screenWidth The screen's width (furthest right the object's right side can go).
+     * @param screenHeight The screen's height (lowest the object's bottom side can go).
+     * @param menuHeight The menu's height (highest the objects top side can go).
+     * @return This collision.
+     */
+    Collision detectScreenEdges(KineticGameObj moving, int screenWidth, int screenHeight, int menuHeight) {
+        clear();
+        // Deal with possible edge of board hit.
+        if (moving.right() >= screenWidth) {   // Hit right edge of screen.
+            hitX = true;
+            xPenetration = moving.right() - screenWidth - 1;
+        } else if (moving.left() <= 0) {       // Hit left edge of screen.
+            hitX = true;
+            xPenetration = moving.left() + 1;
+        }
+
+        if (moving.bottom() >= screenHeight) { // Hit bottom edge of screen.
+            hitY = true;
+            yPenetration = moving.bottom() - screenHeight - 1;
+        } else if (moving.top() <= menuHeight) {        // Hit top edge of screen.
+            hitY = true;
+            yPenetration = moving.top() - menuHeight + 1;
+        }
+        return this;
+    }
+
+    /**
+     * This constructor should only be called after a collision has already occurred. I.e. check for a collision using
+     * {@link GameObj#hit(GameObj)} first, then use this constructor to get additional details about the collision.
+     * @param moving The object which is moving.
+     * @param stationary The object which is stationary and gets hit.
+     */
+    Collision(KineticGameObj moving, GameObj stationary) {
+        this(moving, stationary.left(), stationary.top(), stationary.right(), stationary.bottom());
+    }
+
+    /**
+     * Collision details between a moving object and a stationary rectangle, such as a brick in a {@link Level}. Like
+     * {@link Collision#Collision(KineticGameObj, GameObj)}, this should only be called after a collision has occurred.
+     * @param moving The object which is moving.
+     * @param left X coordinate of the stationary rectangle's left side.
+     * @param top Y coordinate of the stationary rectangle's top side.
+     * @param right X coordinate of the stationary rectangle's right side.
+     * @param bottom Y coordinate of the stationary rectangle's bottom side.
+     */
+    Collision(KineticGameObj moving, int left, int top, int right, int bottom) {
+        detect(moving, left, top, right, bottom);
+    }
+
+    /**
+     * Replace this collision's details with a collision between a moving object and a stationary rectangle.
+     * See {@link Collision#Collision(KineticGameObj, int, int, int, int)}.
+     * @param moving The object which is moving.
+     * @param left X coordinate of the stationary rectangle's left side.
+     * @param top Y coordinate of the stationary rectangle's top side.
+     * @param right X coordinate of the stationary rectangle's right side.
+     * @param bottom Y coordinate of the stationary rectangle's bottom side.
+     * @return This collision.
+     */
+    Collision detect(KineticGameObj moving, int left, int top, int right, int bottom) {
+        clear();
+        float xSideT = Float.NEGATIVE_INFINITY;
+        float ySideT = Float.NEGATIVE_INFINITY;
+
+        if (moving.movingRight()) {
+            // Check moving's previous right side against stationary's left side.
+            final int previousRight = moving.right() - moving.getVelocity().getX();
+            xSideT = timeOfAxisCollision(left, previousRight, moving.getVelocity().getX());
+            xPenetration = moving.right() - left - 1;
+        } else if (moving.movingLeft()) {
+            // Check moving's previous left side against stationary's right side.
+            final int previousLeft = moving.left() - moving.getVelocity().getX();
+            xSideT = timeOfAxisCollision(right, previousLeft, moving.getVelocity().getX());
+            xPenetration = moving.left() - right + 1;
+        }
+
+        if (moving.movingDown()) {
+            // Check moving's previous bottom side against stationary's top side.
+            final int previousBottom = moving.bottom() - moving.getVelocity().getY();
+            ySideT = timeOfAxisCollision(top, previousBottom, moving.getVelocity().getY());
+            yPenetration = moving.bottom() - top - 1;
+        } else if (moving.movingUp()) {
+            // Check moving's previous top side against stationary's bottom side.
+            final int previousTop = moving.top() - moving.getVelocity().getY();
+            ySideT = timeOfAxisCollision(bottom, previousTop, moving.getVelocity().getY());
+            yPenetration = moving.top() - bottom + 1;
+        }
+
+        /* The collision happened on whichever axis was intersected last, or both if they happened at the same time
+        (a corner was hit). If velocity on an axis is 0, time of collision on that axis will be -infinity. */
+        hitX = xSideT >= ySideT;
+        hitY = xSideT <= ySideT;
+        return this;
+    }
+
+    /**
+     * Check whether a moving object will hit the edges of the screen while moving a certain distance, and if so, when.
+     * Unlike {@link #detectScreenEdges(KineticGameObj, int, int, int)}, this is called before the object moves, so a
+     * fast object can't go past the edge of the screen without being noticed. An object which is touching an edge and
+     * moving towards it counts as hitting it straight away.
+     * @param moving The object which is about to move.
+     * @param dx Distance it's going to move on the X-axis.
+     * @param dy Distance it's going to move on the Y-axis.
+     * @param screenWidth The screen's width (furthest right the object's right side can go).
+     * @param screenHeight The screen's height (lowest the object's bottom side can go).
+     * @param menuHeight The menu's height (highest the objects top side can go).
+     * @return Whether the object hits an edge. If it does, this collision's details are replaced with when and where.
+     */
+    boolean sweepScreenEdges(KineticGameObj moving, int dx, int dy, int screenWidth, int screenHeight,
+                             int menuHeight) {
+        float xSideT = Float.POSITIVE_INFINITY;
+        float ySideT = Float.POSITIVE_INFINITY;
+        if (dx > 0) {
+            xSideT = timeOfAxisCollision(screenWidth, moving.right(), dx);
+        } else if (dx < 0) {
+            xSideT = timeOfAxisCollision(0, moving.left(), dx);
+        }
+        if (dy > 0) {
+            ySideT = timeOfAxisCollision(screenHeight, moving.bottom(), dy);
+        } else if (dy < 0) {
+            ySideT = timeOfAxisCollision(menuHeight, moving.top(), dy);
+        }
+
+        final float firstT = Math.min(xSideT, ySideT);
+        if (firstT > 1) { // Neither edge is reached during this movement.
+            return false;
+        }
+        clear();
+        hitX = xSideT <= ySideT;
+        hitY = ySideT <= xSideT;
+        setContact(Math.max(firstT, 0), dx, dy);
+        return true;
+    }
+
+    /**
+     * Check whether a moving object will hit a stationary rectangle while moving a certain distance, and if so, when
+     * (a 'swept' collision). Unlike {@link #detect(KineticGameObj, int, int, int, int)}, this is called before the object
+     * moves, so a fast object can't pass straight through a thin rectangle without being noticed. If the objects are
+     * already overlapping, they count as hitting straight away.
+     * @param moving The object which is about to move.
+     * @param dx Distance it's going to move on the X-axis.
+     * @param dy Distance it's going to move on the Y-axis.
+     * @param left X coordinate of the stationary rectangle's left side.
+     * @param top Y coordinate of the stationary rectangle's top side.
+     * @param right X coordinate of the stationary rectangle's right side.
+     * @param bottom Y coordinate of the stationary rectangle's bottom side.
+     * @return Whether the objects hit. If they do, this collision's details are replaced with when and where.
+     */
+    boolean sweep(KineticGameObj moving, int dx, int dy, int left, int top, int right, int bottom) {
+        // Find when the objects start and stop overlapping on each axis. They only hit if they're overlapping on both
+        // axes at the same time.
+        final float xEntryT;
+        final float xExitT;
+        if (dx > 0) {
+            xEntryT = timeOfAxisCollision(left, moving.right(), dx);
+            xExitT = timeOfAxisCollision(right, moving.left(), dx);
+        } else if (dx < 0) {
+            xEntryT = timeOfAxisCollision(right, moving.left(), dx);
+            xExitT = timeOfAxisCollision(left, moving.right(), dx);
+        } else if (moving.right() > left && moving.left() < right) { // Not moving, but always overlapping on X.
+            xEntryT = Float.NEGATIVE_INFINITY;
+            xExitT = Float.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+
+        final float yEntryT;
+        final float yExitT;
+        if (dy > 0) {
+            yEntryT = timeOfAxisCollision(top, moving.bottom(), dy);
+            yExitT = timeOfAxisCollision(bottom, moving.top(), dy);
+        } else if (dy < 0) {
+            yEntryT = timeOfAxisCollision(bottom, moving.top(), dy);
+            yExitT = timeOfAxisCollision(top, moving.bottom(), dy);
+        } else if (moving.bottom() > top && moving.top() < bottom) { // Not moving, but always overlapping on Y.
+            yEntryT = Float.NEGATIVE_INFINITY;
+            yExitT = Float.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+
+        final float entryT = Math.max(xEntryT, yEntryT);
+        final float exitT = Math.min(xExitT, yExitT);
+        // They don't overlap (only touch) if they stop overlapping as soon as they start, or only start touching at the
+        // very end of the movement.
+        if (entryT >= exitT || entryT >= 1 || exitT <= 0) {
+            return false;
+        }
+        clear();
+        // Like the non-swept collision, the side that was hit is on whichever axis started overlapping last.
+        hitX = xEntryT >= yEntryT;
+        hitY = xEntryT <= yEntryT;
+        setContact(Math.max(entryT, 0), dx, dy);
+        return true;
+    }
+
+    /**
+     * Work out how far the moving object gets before the collision.
+     * On the axis (or axes) that were hit it moves exactly up to the other object, on the other axis it moves a
+     * whole number of pixels towards where it would have been.
+     */
+    private void setContact(float time, int dx, int dy) {
+        this.time = time;
+        moveX = hitX ? Math.round(dx * time) : (int) (dx * time);
+        moveY = hitY ? Math.round(dy * time) : (int) (dy * time);
+    }
+
+    /**
+     * Forget the previous collision's details.
+     */
+    private void clear() {
+        hitX = false;
+        hitY = false;
+        xPenetration = 0;
+        yPenetration = 0;
+        time = 0;
+        moveX = 0;
+        moveY = 0;
+    }
+
+    /** Find the time of collision on one axis.
+     * Solve for t:
+     * movingSide + velocity*t = stationarySide
+     * @param stationarySide The non-moving side's position.
+     * @param movingSide The moving side's position pre-collision.
+     * @param velocity How fast the moving side is moving. Positive or negative.
+     * @return Time the collision occurs.
+     */
+    private static float timeOfAxisCollision(int stationarySide, int movingSide, int velocity) {
+        return (float) (stationarySide - movingSide) / velocity;
+    }
+
+    /**
+     * {@return whether the collision had occurred on the X-axis (hit on either the left or right side)}
+     */
+    boolean getHitX() {
+        return hitX;
+    }
+
+    /**
+     * {@return whether the collision had occurred on the Y-axis (hit on either the top or bottom side)}
+     */
+    boolean getHitY() {
+        return hitY;
+    }
+
+    /**
+     * {@return when a swept collision happened, as a fraction of the movement (0.0 is the start, 1.0 the end)}
+     */
+    float getTime() {
+        return time;
+    }
+
+    /**
+     * {@return distance (in pixels) the moving object moves on the X-axis before a swept collision}
+     */
+    int getMoveX() {
+        return moveX;
+    }
+
+    /**
+     * {@return distance (in pixels) the moving object moves on the Y-axis before a swept collision}
+     */
+    int getMoveY() {
+        return moveY;
+    }
+
+    /**
+     * {@return distance (in pixels) the objects passed through each other on the X-axis}
+     */
+    int getXPenetration() {
+        return xPenetration;
+    }
+
+    /**
+     * {@return distance (in pixels) the objects passed through each other on the Y-axis}
+     */
+    int getYPenetration() {
+        return yPenetration;
+    }
+}
@@ -1,3 +1,5 @@
+package breakout;
+
 import javafx.application.Platform;
 import javafx.scene.control.ButtonType;
 import javafx.scene.input.KeyEvent;
@@ -9,6 +11,8 @@ import javafx.scene.input.KeyEvent;
  * @version 1.0
  */
 class Controller {
+    private static final double REWIND_STEP = 0.25; // Seconds to go back each time R is pressed (or repeats).
+
     private final Model model; // Instance variable for the Model component of MVC.
 
     /**
@@ -27,11 +31,14 @@ class Controller {
      */
     void userKeyPressInteraction(KeyEvent event) {
         // Print a debugging message to show a key has been pressed.
-        Debug.trace("Controller::userKeyPressInteraction: keyCode = " + event.getCode());
+        Debug.trace("Controller::userKeyPressInteraction: keyCode = %d", event.getCode().getCode());
         switch (event.getCode()) {
             case LEFT -> model.setLeftHeld(true);   // Left Arrow.
             case RIGHT -> model.setRightHeld(true); // Right arrow.
+            case A -> model.toggleAutopilot();      // Let the computer move the paddle, or take it back.
             case F -> model.toggleFast();           // Toggle between fast and slow game speed.
+            case P -> model.togglePaused();         // Pause or resume the game.
+            case R -> model.rewind(REWIND_STEP);    // Go back in time, hold it down to keep going back.
             case S -> model.setGameFinished();      // Stop the game.
         }
     }
@@ -41,7 +48,7 @@ class Controller {
      * @param event Which key has been released.
      */
     void userKeyReleaseInteraction(KeyEvent event) {
-        Debug.trace("Controller::userKeyReleaseInteraction: keyCode = " + event.getCode());
+        Debug.trace("Controller::userKeyReleaseInteraction: keyCode = %d", event.getCode().getCode());
         switch (event.getCode()) {
             case LEFT -> model.setLeftHeld(false);
             case RIGHT -> model.setRightHeld(false);
@@ -0,0 +1,86 @@
+package breakout;
+
+/**
+ * Print information about the running program
+ * @author Mike Smith University of Brighton
+ * @version 1.0
+ */
+
+public class Debug {
+    private static volatile boolean debug = true;
+
+    /**
+     * Set true/false to record debugging information
+     * @param state Debugging true false
+     * @return The old state
+     */
+    public static synchronized boolean set(boolean state) {
+        boolean oldState = debug;
+        debug = state;
+        return oldState;
+    }
+
+    /**
+     * {@return whether debugging information is being recorded}
+     */
+    public static boolean enabled() {
+        return debug;
+    }
+
+    /**
+     * Record text for debugging purposes. Messages are written out in the background by the {@link Tracer}, so this is
+     * cheap enough to call from the game loop, and costs almost nothing when debugging is turned off.
+     * @param fmt The message, it must be a constant (not built up with +) so nothing is allocated
+     */
+    public static void trace(String fmt) {
+        if (debug) {
+            Tracer.record(fmt, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Record text for debugging purposes, with a number in it. The message is only formatted when it's written out.
+     * @param fmt The same as printf etc, e.g. "Move paddle = %d"
+     * @param param The parameter to fmt
+     */
+    public static void trace(String fmt, long param) {
+        if (debug) {
+            Tracer.record(fmt, 1, param, 0);
+        }
+    }
+
+    /**
+     * Record text for debugging purposes, with two numbers in it. The message is only formatted when it's written out.
+     * @param fmt The same as printf etc
+     * @param first The first parameter to fmt
+     * @param second The second parameter to fmt
+     */
+    public static void trace(String fmt, long first, long second) {
+        if (debug) {
+            Tracer.record(fmt, 2, first, second);
+        }
+    }
+
+    /**
+     * Display a fatal message if the assertion fails
+     * @param ok true if all is ok
+     * @param fmt The same as printf etc
+     * @param params The parameters to fmt
+     */
+    public static void assertTrue(boolean ok, String fmt, Object... params) {
+        if (!ok) {
+            error("Assert - " + fmt, params);
+        }
+    }
+
+    /**
+     * Display a fatal message
+     * @param fmt The same as printf etc
+     * @param params The parameters to fmt
+     */
+    public static synchronized void error(String fmt, Object... params) {
+        Tracer.flush(); // So the error comes after whatever was traced before it.
+        System.out.printf("ERROR: " + fmt, params);
+        System.out.println();
+    }
+}
@@ -0,0 +1,151 @@
+package breakout;
+
+/**
+ * Keeps track of the parts of the screen that have changed since the last frame, so the {@link View} only has to
+ * redraw those parts rather than the whole window.
+ * Overlapping rectangles are merged together as they're added, so nothing is drawn twice. If there are too many
+ * rectangles to be worth it (e.g. when lots of balls are moving), the regions {@link #overflowed() overflow} and the
+ * View should redraw everything instead.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class DirtyRegions {
+    private final int[] left;
+    private final int[] top;
+    private final int[] right;
+    private final int[] bottom;
+    private int count;
+    private boolean overflowed;
+
+    // Area of the screen that can be redrawn, rectangles are cut down to fit inside it.
+    private int boundsLeft;
+    private int boundsTop;
+    private int boundsRight;
+    private int boundsBottom;
+
+    /**
+     * Create an empty set of regions.
+     * @param maxRegions Most rectangles to keep track of before giving up and overflowing.
+     */
+    DirtyRegions(int maxRegions) {
+        left = new int[maxRegions];
+        top = new int[maxRegions];
+        right = new int[maxRegions];
+        bottom = new int[maxRegions];
+    }
+
+    /**
+     * Set the area of the screen that can be redrawn. Anything added outside of it is ignored.
+     * @param left X coordinate of the area's left side.
+     * @param top Y coordinate of the area's top side.
+     * @param right X coordinate of the area's right side.
+     * @param bottom Y coordinate of the area's bottom side.
+     */
+    void setBounds(int left, int top, int right, int bottom) {
+        boundsLeft = left;
+        boundsTop = top;
+        boundsRight = right;
+        boundsBottom = bottom;
+    }
+
+    /**
+     * Forget every rectangle, ready for the next frame.
+     */
+    void clear() {
+        count = 0;
+        overflowed = false;
+    }
+
+    /**
+     * Mark a rectangle as needing to be redrawn.
+     * @param x X coordinate of the rectangle's left side.
+     * @param y Y coordinate of the rectangle's top side.
+     * @param width The rectangle's width.
+     * @param height The rectangle's height.
+     */
+    void add(int x, int y, int width, int height) {
+        int newLeft = Math.max(x, boundsLeft);
+        int newTop = Math.max(y, boundsTop);
+        int newRight = Math.min(x + width, boundsRight);
+        int newBottom = Math.min(y + height, boundsBottom);
+        if (overflowed || newLeft >= newRight || newTop >= newBottom) {
+            return;
+        }
+
+        // Merge with every rectangle it overlaps. Growing might make it overlap others, so keep going until it doesn't.
+        for (int i = 0; i < count; ) {
+            if (left[i] < newRight && newLeft < right[i] && top[i] < newBottom && newTop < bottom[i]) {
+                newLeft = Math.min(newLeft, left[i]);
+                newTop = Math.min(newTop, top[i]);
+                newRight = Math.max(newRight, right[i]);
+                newBottom = Math.max(newBottom, bottom[i]);
+                remove(i);
+                i = 0;
+            } else {
+                i += 1;
+            }
+        }
+
+        if (count == left.length) {
+            overflowed = true;
+            return;
+        }
+        left[count] = newLeft;
+        top[count] = newTop;
+        right[count] = newRight;
+        bottom[count] = newBottom;
+        count += 1;
+    }
+
+    /**
+     * Remove a rectangle by moving the last one into its place.
+     */
+    private void remove(int index) {
+        count -= 1;
+        left[index] = left[count];
+        top[index] = top[count];
+        right[index] = right[count];
+        bottom[index] = bottom[count];
+    }
+
+    /**
+     * {@return whether there were too many rectangles to keep track of, so everything should be redrawn}
+     */
+    boolean overflowed() {
+        return overflowed;
+    }
+
+    /**
+     * {@return number of rectangles to redraw}
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * {@return whether a rectangle overlaps one of the regions, so it has to be drawn again}
+     * @param index The region's index, from 0 to {@link #size()} - 1.
+     * @param x X coordinate of the rectangle's left side.
+     * @param y Y coordinate of the rectangle's top side.
+     * @param width The rectangle's width.
+     * @param height The rectangle's height.
+     */
+    boolean overlaps(int index, int x, int y, int width, int height) {
+        return left[index] < x + width && x < right[index] && top[index] < y + height && y < bottom[index];
+    }
+
+    // Getters for each region's sides.
+
+    int left(int index) {
+        return left[index];
+    }
+    int top(int index) {
+        return top[index];
+    }
+    int right(int index) {
+        return right[index];
+    }
+    int bottom(int index) {
+        return bottom[index];
+    }
+}
@@ -0,0 +1,206 @@
+package breakout;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Events the game records with Java Flight Recorder (JFR), so a recording shows what the game was doing alongside
+ * garbage collections, safepoints and so on. They're all turned off unless a recording asks for them, e.g.
+ * {@code ./gradlew run -Precord}, which uses the settings in {@code breakout.jfc}.
+ * <p>
+ * The game doesn't make events itself, it calls the methods here, which only make an event if it's being recorded.
+ * (The usual JFR way is to always make the event and let the JIT compiler remove it when it's not needed, but it
+ * doesn't always manage to once a recording has been made, and updating the game shouldn't allocate anything.) Until
+ * JFR has been started, checking costs just one variable read; looking up whether an event is enabled would start JFR,
+ * which takes longer than the game does to start.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class GameEvents {
+    private GameEvents() {
+    }
+
+    /**
+     * The types of the events, only looked up once JFR has started.
+     */
+    private static final class Types {
+        static final EventType TICK = EventType.getEventType(Tick.class);
+        static final EventType COLLISION = EventType.getEventType(CollisionResolved.class);
+        static final EventType LIFE_LOST = EventType.getEventType(LifeLost.class);
+        static final EventType LEVEL_REGENERATED = EventType.getEventType(LevelRegenerated.class);
+        static final EventType FRAME = EventType.getEventType(Frame.class);
+    }
+
+    /**
+     * {@return an event timing a tick, or null if ticks aren't being recorded} Pass it to {@link #tickFinished}.
+     */
+    static Tick tickStarted() {
+        if (!FlightRecorder.isInitialized() || !Types.TICK.isEnabled()) {
+            return null;
+        }
+        final Tick event = new Tick();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Record a tick, if it's being recorded.
+     * @param event The event from {@link #tickStarted()}, may be null.
+     */
+    static void tickFinished(Tick event, long tick, int balls, int bricks, int collisions) {
+        if (event != null && event.shouldCommit()) {
+            event.tick = tick;
+            event.balls = balls;
+            event.bricks = bricks;
+            event.collisions = collisions;
+            event.commit();
+        }
+    }
+
+    /**
+     * Record a ball bouncing off things, if collisions are being recorded.
+     */
+    static void collisionResolved(int ball, int contacts, int bricksHit, boolean replayed) {
+        if (FlightRecorder.isInitialized() && Types.COLLISION.isEnabled()) {
+            final CollisionResolved event = new CollisionResolved();
+            event.ball = ball;
+            event.contacts = contacts;
+            event.bricksHit = bricksHit;
+            event.replayed = replayed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Record the player losing a life, if it's being recorded.
+     */
+    static void lifeLost(long tick, int lives) {
+        if (FlightRecorder.isInitialized() && Types.LIFE_LOST.isEnabled()) {
+            final LifeLost event = new LifeLost();
+            event.tick = tick;
+            event.lives = lives;
+            event.commit();
+        }
+    }
+
+    /**
+     * Record the bricks coming back after they've all been destroyed, if it's being recorded.
+     */
+    static void levelRegenerated(long tick, int bricks) {
+        if (FlightRecorder.isInitialized() && Types.LEVEL_REGENERATED.isEnabled()) {
+            final LevelRegenerated event = new LevelRegenerated();
+            event.tick = tick;
+            event.bricks = bricks;
+            event.commit();
+        }
+    }
+
+    /**
+     * {@return an event timing a frame, or null if frames aren't being recorded} Pass it to {@link #frameFinished}.
+     */
+    static Frame frameStarted() {
+        if (!FlightRecorder.isInitialized() || !Types.FRAME.isEnabled()) {
+            return null;
+        }
+        final Frame event = new Frame();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Record a frame, if it's being recorded.
+     * @param event The event from {@link #frameStarted()}, may be null.
+     */
+    static void frameFinished(Frame event, long tick, int drawCalls, int regions) {
+        if (event != null && event.shouldCommit()) {
+            event.tick = tick;
+            event.drawCalls = drawCalls;
+            event.regions = regions;
+            event.commit();
+        }
+    }
+
+    @Name("breakout.Tick")
+    @Label("Tick")
+    @Category("Breakout")
+    @Description("One update of the game")
+    static final class Tick extends Event {
+        @Label("Tick Number")
+        long tick;
+
+        @Label("Balls")
+        int balls;
+
+        @Label("Bricks Left")
+        int bricks;
+
+        @Label("Collisions Resolved")
+        int collisions;
+    }
+
+    @Name("breakout.CollisionResolved")
+    @Label("Collision Resolution")
+    @Category("Breakout")
+    @Description("A ball bouncing off things during a tick")
+    static final class CollisionResolved extends Event {
+        @Label("Ball")
+        int ball;
+
+        @Label("Contacts")
+        @Description("Number of things the ball bounced off, including the edges of the screen and the paddle")
+        int contacts;
+
+        @Label("Bricks Hit")
+        int bricksHit;
+
+        @Label("Replayed")
+        @Description("Whether the ball's planned move had to be worked out again, because another ball got to a "
+                + "brick first")
+        boolean replayed;
+    }
+
+    @Name("breakout.LifeLost")
+    @Label("Life Lost")
+    @Category("Breakout")
+    static final class LifeLost extends Event {
+        @Label("Tick Number")
+        long tick;
+
+        @Label("Lives Left")
+        int lives;
+    }
+
+    @Name("breakout.LevelRegenerated")
+    @Label("Level Regenerated")
+    @Category("Breakout")
+    @Description("Every brick was destroyed, so they all came back")
+    static final class LevelRegenerated extends Event {
+        @Label("Tick Number")
+        long tick;
+
+        @Label("Bricks")
+        int bricks;
+    }
+
+    @Name("breakout.Frame")
+    @Label("Frame")
+    @Category("Breakout")
+    @Description("The View drawing the game")
+    static final class Frame extends Event {
+        @Label("Tick Number")
+        @Description("Tick of the game state that was drawn")
+        long tick;
+
+        @Label("Draw Calls")
+        int drawCalls;
+
+        @Label("Regions")
+        @Description("Number of parts of the window redrawn, or 0 if the whole window was redrawn")
+        int regions;
+    }
+}
@@ -0,0 +1,117 @@
+package breakout;
+
+/**
+ * Works out when the {@link Model} should update, so the game runs at a fixed number of updates ('ticks') per second
+ * no matter how long each update takes or how late the thread wakes up from sleeping.
+ * Time that passes is added to an accumulator, and a tick is run for every {@link #getTickNanos()} nanoseconds in it.
+ * If the game falls too far behind (e.g. the computer was busy), it only catches up by a few ticks and forgets the
+ * rest, otherwise it could end up spending all of its time catching up and never get ahead again. How often that
+ * happens is counted in {@link Metrics#OVERRUNS} and {@link Metrics#DROPPED_TICKS}.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class GameLoop {
+    private static final int MAX_CATCH_UP_TICKS = 5; // Most ticks we'll run in one go to catch up.
+
+    private final long tickNanos; // Length of one tick in game time.
+
+    private volatile double timeScale = 1.0; // How fast game time passes compared to real time.
+    private long previousTime;               // Real time (System.nanoTime) of the previous call to advance.
+    private long accumulator;                // Game time that's passed but hasn't been used up by ticks yet.
+    private volatile long intervalStart;     // Real time the current (not yet run) tick started accumulating.
+
+    /**
+     * Create a game loop timer.
+     * @param ticksPerSecond How many times per second (at a time scale of 1) the game should update.
+     */
+    GameLoop(int ticksPerSecond) {
+        tickNanos = 1_000_000_000L / ticksPerSecond;
+    }
+
+    /**
+     * Start timing from now, with nothing accumulated.
+     * @param now Current time from {@link System#nanoTime()}.
+     */
+    void start(long now) {
+        previousTime = now;
+        accumulator = 0;
+        intervalStart = now;
+    }
+
+    /**
+     * Carry on timing from now after a pause, without counting the time spent paused. Whatever was accumulated before
+     * the pause is kept.
+     * @param now Current time from {@link System#nanoTime()}.
+     */
+    void resume(long now) {
+        previousTime = now;
+        intervalStart = now - (long) (accumulator / timeScale);
+    }
+
+    /**
+     * Add the time since the last call to the accumulator, and work out how many ticks need to run now.
+     * @param now Current time from {@link System#nanoTime()}.
+     * @return Number of times to update the game, between 0 and {@link #MAX_CATCH_UP_TICKS}.
+     */
+    int advance(long now) {
+        final double scale = timeScale;
+        accumulator += (long) ((now - previousTime) * scale);
+        previousTime = now;
+
+        long ticks = accumulator / tickNanos;
+        accumulator -= ticks * tickNanos;
+        if (ticks > MAX_CATCH_UP_TICKS) { // We've fallen behind, so give up on the ticks we can't catch up on.
+            Metrics.OVERRUNS.increment();
+            Metrics.DROPPED_TICKS.add(ticks - MAX_CATCH_UP_TICKS);
+            ticks = MAX_CATCH_UP_TICKS;
+        }
+        intervalStart = now - (long) (accumulator / scale);
+        return (int) ticks;
+    }
+
+    /**
+     * {@return how long to wait (in real nanoseconds) before calling {@link #advance(long)} again}
+     * @param now Current time from {@link System#nanoTime()}.
+     */
+    long nanosUntilNextTick(long now) {
+        final long remaining = (long) ((tickNanos - accumulator) / timeScale) - (now - previousTime);
+        return Math.max(remaining, 0);
+    }
+
+    /**
+     * How far we are between the last tick and the next one. The {@link View} uses this to draw moving objects part way
+     * between where they were and where they are now, so the game looks smooth even if the screen refreshes more often
+     * than the game updates.
+     * @param now Current time from {@link System#nanoTime()}.
+     * @return A number between 0.0 (the last tick just ran) and 1.0 (the next tick is due).
+     */
+    double alpha(long now) {
+        final double alpha = (now - intervalStart) * timeScale / tickNanos;
+        return Math.clamp(alpha, 0.0, 1.0);
+    }
+
+    /**
+     * {@return length of one tick in nanoseconds of game time}
+     */
+    long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * {@return how fast game time passes compared to real time, 1.0 is normal speed}
+     */
+    double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Change how fast game time passes compared to real time, e.g. 2.0 runs the game at double speed.
+     * @param timeScale The new time scale, must be greater than zero.
+     */
+    void setTimeScale(double timeScale) {
+        if (timeScale <= 0) {
+            throw new IllegalArgumentException("Time scale must be greater than zero: " + timeScale);
+        }
+        this.timeScale = timeScale;
+    }
+}
@@ -0,0 +1,118 @@
+package breakout;
+
+/**
+ * An object in the game, represented as a rectangle, with a position and size.
+ * It doesn't know how it's drawn, that's up to the {@link View} (see {@link Sprites}), so the game can run without a GUI.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class GameObj {
+    private final Vector2 position; // Position - top-left corner's X and Y coordinates.
+    private final Vector2 size;     // Size of the object - width and height.
+
+    /**
+     * Create a new stationary GameObj at the specified position with the specified size.
+     * @param position The X and Y coordinates of the top-left corner.
+     * @param size The width and height of the object. Ideally equal to the width and height of its sprite.
+     */
+     GameObj(Vector2 position, Vector2 size) {
+        this.position = position;
+        this.size = size;
+    }
+
+    /**
+     * Detect collision between this object and the argument object.
+     * @param obj The object we're checking to see if we hit.
+     * @return Whether we hit the object.
+     */
+    boolean hit(GameObj obj) {
+        return hit(obj.left(), obj.top(), obj.right(), obj.bottom());
+    }
+
+    /**
+     * Detect collision between this object and a rectangle, such as a brick in a {@link Level}.
+     * @param objLeft X coordinate of the rectangle's left side.
+     * @param objTop Y coordinate of the rectangle's top side.
+     * @param objRight X coordinate of the rectangle's right side.
+     * @param objBottom Y coordinate of the rectangle's bottom side.
+     * @return Whether we hit the rectangle.
+     */
+    boolean hit(int objLeft, int objTop, int objRight, int objBottom) {
+        // It's easiest to work out if they do NOT overlap, and then return the opposite.
+        final boolean toTheRight = left() >= objRight; // To the right of obj.
+        final boolean toTheLeft = right() <= objLeft;  // To the left of obj.
+        final boolean below = top() >= objBottom;      // Below obj.
+        final boolean above = bottom() <= objTop;      // Above obj.
+
+        final boolean separate = toTheRight || toTheLeft || below || above;
+        
+        // use ! to return the opposite result - hitBy is 'not separate'
+        return !separate;
+    }
+
+    /**
+     * {@return width of this object in pixels}
+     */
+    int width() {
+        return size.getX();
+    }
+    /**
+     * {@return height of this object in pixels}
+     */
+    int height() {
+        return size.getY();
+    }
+
+    /**
+     * {@return the X coordinate of this object's left side}
+     */
+    int left() {
+        return position.getX();
+    }
+    /**
+     * {@return the X coordinate of this object's right side}
+     */
+    int right() {
+        return position.getX() + width();
+    }
+    /**
+     * {@return the Y coordinate of this object's top side}
+     */
+    int top() {
+        return position.getY();
+    }
+    /**
+     * {@return the Y coordinate of this object's bottom side}
+     */
+    int bottom() {
+        return position.getY() + height();
+    }
+
+    /**
+     * Move this object so its top-left corner is at the specified position.
+     * @param x The new X coordinate of the left side.
+     * @param y The new Y coordinate of the top side.
+     */
+    void moveTo(int x, int y) {
+        position.setX(x);
+        position.setY(y);
+    }
+
+    /**
+     * Add to this object's position on the X-axis.
+     * @param value Number of pixels to move right (or left if negative).
+     */
+    void translateX(int value) {
+        final int newX = position.getX() + value;
+        position.setX(newX);
+    }
+
+    /**
+     * Add to this object's position on the Y-axis.
+     * @param value Number of pixels to move down (or up if negative).
+     */
+    void translateY(int value) {
+        final int newY = position.getY() + value;
+        position.setY(newY);
+    }
+}
@@ -0,0 +1,214 @@
+package breakout;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A copy of everything the {@link View} needs to draw one frame: where the balls and paddle are (and were at the start
+ * of the tick), which bricks are still visible, the score, and the number of lives.
+ * The {@link Model} fills one of these in at the end of every tick and publishes it through a {@link SnapshotBuffer}, so
+ * the View can draw it on the JavaFX thread without locking the Model. Snapshots are reused rather than recreated, so
+ * only the thread that currently owns one (see {@link SnapshotBuffer}) may read or change it.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class GameSnapshot {
+    private long tick; // Number of ticks the game had run when this snapshot was taken.
+
+    private int ballCount;
+    // Ball positions, indexed by ball. The arrays only grow, so they're reused from one tick to the next.
+    private int[] ballX = new int[1];
+    private int[] ballY = new int[1];
+    private int[] ballPreviousX = new int[1];
+    private int[] ballPreviousY = new int[1];
+    private int paddleX;
+    private int paddleY;
+    private int paddlePreviousX;
+    private int paddlePreviousY;
+
+    private Level level;          // Level the bricks belong to. Brick positions never change, so it's safe to share.
+    private int brickVersion = -1; // Level version brickVisible was copied from, see Level#getVersion().
+    private final BitSet brickVisible = new BitSet();
+    // An endless level's colours change as it scrolls, so they're copied too (only when it's scrolled).
+    private long rowsScrolled = -1;           // Rows the level had scrolled when brickColours was copied.
+    private byte[] brickColours = new byte[0]; // The colours, only used for endless levels.
+
+    private int score;
+    private int lives;
+
+    /**
+     * Copy the current state of the game into this snapshot.
+     * Brick visibility is only copied if a brick has been destroyed since this snapshot was last filled in.
+     * @param tick Number of ticks the game has run.
+     * @param balls The balls.
+     * @param paddle The paddle.
+     * @param level The current level.
+     * @param score The player's score.
+     * @param lives Number of lives the player has left.
+     */
+    void capture(long tick, List<? extends KineticGameObj> balls, KineticGameObj paddle, Level level, int score,
+                 int lives) {
+        this.tick = tick;
+
+        ballCount = balls.size();
+        if (ballX.length < ballCount) {
+            ballX = new int[ballCount * 2];
+            ballY = new int[ballCount * 2];
+            ballPreviousX = new int[ballCount * 2];
+            ballPreviousY = new int[ballCount * 2];
+        }
+        for (int i = 0; i < ballCount; i += 1) {
+            final KineticGameObj ball = balls.get(i);
+            ballX[i] = ball.left();
+            ballY[i] = ball.top();
+            ballPreviousX[i] = ball.previousLeft();
+            ballPreviousY[i] = ball.previousTop();
+        }
+        paddleX = paddle.left();
+        paddleY = paddle.top();
+        paddlePreviousX = paddle.previousLeft();
+        paddlePreviousY = paddle.previousTop();
+
+        if (this.level != level || brickVersion != level.getVersion()) {
+            level.copyVisibleBricks(brickVisible);
+            if (level.isEndless() && (this.level != level || rowsScrolled != level.getRowsScrolled())) {
+                if (brickColours.length < level.getBrickCount()) {
+                    brickColours = new byte[level.getBrickCount()];
+                }
+                level.copyColours(brickColours);
+                rowsScrolled = level.getRowsScrolled();
+            }
+            this.level = level;
+            brickVersion = level.getVersion();
+        }
+
+        this.score = score;
+        this.lives = lives;
+    }
+
+    /**
+     * Find a position part way between two others.
+     * @param previous The position at the start of the tick.
+     * @param current The position at the end of the tick.
+     * @param alpha How far between the two positions, 0.0 is previous and 1.0 is current.
+     * @return The interpolated position, rounded to the nearest pixel.
+     */
+    private static int interpolate(int previous, int current, double alpha) {
+        return (int) Math.round(previous + (current - previous) * alpha);
+    }
+
+    /**
+     * {@return number of ticks the game had run when this snapshot was taken}
+     */
+    long getTick() {
+        return tick;
+    }
+
+    /**
+     * {@return number of balls in play when this snapshot was taken}
+     */
+    int getBallCount() {
+        return ballCount;
+    }
+
+    /**
+     * {@return the X coordinate to draw a ball's left side at}
+     * @param index The ball's index, from 0 to {@link #getBallCount()} - 1.
+     * @param alpha How far between the previous tick and this one to draw it, see {@link GameLoop#alpha(long)}.
+     */
+    int ballX(int index, double alpha) {
+        return interpolate(ballPreviousX[index], ballX[index], alpha);
+    }
+    /**
+     * {@return the Y coordinate to draw a ball's top side at}
+     * @param index The ball's index, from 0 to {@link #getBallCount()} - 1.
+     * @param alpha How far between the previous tick and this one to draw it, see {@link GameLoop#alpha(long)}.
+     */
+    int ballY(int index, double alpha) {
+        return interpolate(ballPreviousY[index], ballY[index], alpha);
+    }
+    /**
+     * {@return the X coordinate to draw the paddle's left side at}
+     * @param alpha How far between the previous tick and this one to draw it, see {@link GameLoop#alpha(long)}.
+     */
+    int paddleX(double alpha) {
+        return interpolate(paddlePreviousX, paddleX, alpha);
+    }
+    /**
+     * {@return the Y coordinate to draw the paddle's top side at}
+     * @param alpha How far between the previous tick and this one to draw it, see {@link GameLoop#alpha(long)}.
+     */
+    int paddleY(double alpha) {
+        return interpolate(paddlePreviousY, paddleY, alpha);
+    }
+
+    /**
+     * {@return the level the bricks belong to, or null if no snapshot has been taken yet}
+     */
+    Level getLevel() {
+        return level;
+    }
+
+    /**
+     * {@return whether a brick was visible when this snapshot was taken}
+     * @param index The brick's index in the level.
+     */
+    boolean isBrickVisible(int index) {
+        return brickVisible.get(index);
+    }
+
+    /**
+     * {@return index of a brick's colour when this snapshot was taken, see {@link Level#brickColour(int)}}
+     * @param index The brick's index in the level.
+     */
+    int brickColour(int index) {
+        return level.isEndless() ? brickColours[index] : level.brickColour(index);
+    }
+
+    /**
+     * {@return number of rows the level had scrolled when this snapshot was taken, see {@link Level#scroll()}}
+     */
+    long getRowsScrolled() {
+        return level.isEndless() ? rowsScrolled : 0;
+    }
+
+    /**
+     * {@return the level version the brick visibility was copied from, see {@link Level#getVersion()}}
+     * If this hasn't changed, no bricks have been destroyed (or brought back) since the last snapshot.
+     */
+    int getBrickVersion() {
+        return brickVersion;
+    }
+
+    /**
+     * Copy which bricks were visible when this snapshot was taken into a set of brick indexes.
+     * @param into The set to copy into, anything already in it is cleared.
+     */
+    void copyVisibleBricks(BitSet into) {
+        into.clear();
+        into.or(brickVisible);
+    }
+
+    /**
+     * Find the next brick that was visible when this snapshot was taken, see {@link Level#nextVisibleBrick(int)}.
+     * @param fromIndex Index to start looking from (inclusive).
+     * @return The index of the next visible brick, or -1 if there are no more.
+     */
+    int nextVisibleBrick(int fromIndex) {
+        return brickVisible.nextSetBit(fromIndex);
+    }
+
+    /**
+     * {@return the player's score}
+     */
+    int getScore() {
+        return score;
+    }
+
+    /**
+     * {@return number of lives the player had left}
+     */
+    int getLives() {
+        return lives;
+    }
+}
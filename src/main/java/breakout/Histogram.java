@@ -0,0 +1,120 @@
+package breakout;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many times each value (e.g. how long a tick took) has been recorded, so percentiles can be worked out
+ * without keeping every value. Values are counted in a fixed set of buckets: the first 16 hold one value each, then
+ * each power of two is split into {@value #SUB_BUCKETS} equal buckets, so a percentile is never more than 12.5% out
+ * however big the values get. Recording a value just adds one to a bucket, so any number of threads can record at once
+ * without locking, and nothing is allocated (after the first few values).
+ * Each bucket is a {@link LongAdder}, which gives threads that record at the same time their own counts to add to, so
+ * e.g. every {@link BatchRunner} thread timing its ticks doesn't fight over the same cache lines. Reading adds them up,
+ * which is slower, but only happens when someone looks at the metrics.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i += 1) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Count a value.
+     * @param value The value, negative values are counted as 0.
+     */
+    void record(long value) {
+        counts[bucket(Math.max(value, 0))].increment();
+    }
+
+    /**
+     * {@return the number of values recorded}
+     */
+    long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i += 1) {
+            count += counts[i].sum();
+        }
+        return count;
+    }
+
+    /**
+     * {@return the value that a fraction of the recorded values are no bigger than, or 0 if nothing has been recorded}
+     * The answer is the largest value in the bucket the percentile falls in, so it's never an underestimate.
+     * @param fraction The fraction, e.g. 0.99 for the 99th percentile.
+     */
+    long getPercentile(double fraction) {
+        final long[] snapshot = new long[BUCKETS]; // Values can be recorded while we count, so count a copy.
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i += 1) {
+            snapshot[i] = counts[i].sum();
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(fraction * count)); // How many values are at or below it.
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i += 1) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return bucketMax(i);
+            }
+        }
+        return bucketMax(BUCKETS - 1);
+    }
+
+    /**
+     * {@return the largest value recorded (to within a bucket), or 0 if nothing has been recorded}
+     */
+    long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i -= 1) {
+            if (counts[i].sum() > 0) {
+                return bucketMax(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Forget every value recorded so far.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKETS; i += 1) {
+            counts[i].reset();
+        }
+    }
+
+    /**
+     * {@return index of the bucket a (not negative) value is counted in}
+     */
+    static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Use the highest bit to pick the power of two, and the next few bits to pick the bucket within it.
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * {@return the largest value counted in a bucket}
+     */
+    static long bucketMax(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long min = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return min + ((1L << shift) - 1);
+    }
+}
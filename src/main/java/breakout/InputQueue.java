@@ -0,0 +1,73 @@
+package breakout;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passes key presses from the JavaFX thread to the game thread without either of them waiting for the other.
+ * Each input is stamped with the time it happened and added to the end of a ring buffer, and the game thread takes
+ * everything in the buffer at the start of each tick, in order. Nothing is lost between ticks, so a key tapped quickly
+ * between two ticks still counts, and nothing is allocated.
+ * Only one thread may {@link #offer} inputs and only one thread may {@link #drain} them (they can be the same thread).
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class InputQueue {
+    static final int CAPACITY = 1024; // Most inputs that can wait at once, must be a power of two.
+    private static final int MASK = CAPACITY - 1;
+
+    private final int[] inputs = new int[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+
+    private final AtomicLong written = new AtomicLong(); // Number of inputs ever added, only changed by the producer.
+    private final AtomicLong read = new AtomicLong();    // Number of inputs ever taken, only changed by the consumer.
+    private long readCache; // The producer's copy of read, so it doesn't have to look at the consumer's every time.
+
+    /**
+     * Something that takes inputs from the queue.
+     */
+    interface Handler {
+        /**
+         * Deal with one input.
+         * @param input The input, as it was offered.
+         * @param time When it happened, from {@link System#nanoTime()}.
+         */
+        void handle(int input, long time);
+    }
+
+    /**
+     * Add an input to the end of the queue.
+     * @param input The input, e.g. which key was pressed.
+     * @param time When it happened, from {@link System#nanoTime()}.
+     * @return Whether it was added, false if the queue was full (e.g. because the game thread isn't running).
+     */
+    boolean offer(int input, long time) {
+        final long next = written.get();
+        if (next - readCache == CAPACITY) {
+            readCache = read.get();
+            if (next - readCache == CAPACITY) {
+                return false;
+            }
+        }
+        final int index = (int) (next & MASK);
+        inputs[index] = input;
+        times[index] = time;
+        written.lazySet(next + 1); // Publish the input, without waiting for other cores to see it.
+        return true;
+    }
+
+    /**
+     * Take every input in the queue, oldest first.
+     * @param handler Given each input in turn.
+     * @return Number of inputs taken.
+     */
+    int drain(Handler handler) {
+        final long first = read.get();
+        final long end = written.get();
+        for (long next = first; next < end; next += 1) {
+            final int index = (int) (next & MASK);
+            handler.handle(inputs[index], times[index]);
+        }
+        read.lazySet(end); // Let the producer reuse the space.
+        return (int) (end - first);
+    }
+}
@@ -1,4 +1,4 @@
-import javafx.scene.image.Image;
+package breakout;
 
 /**
  * An extension of the {@link GameObj} class with velocity.
@@ -7,16 +7,40 @@ import javafx.scene.image.Image;
  */
 class KineticGameObj extends GameObj {
     private Vector2 velocity;
+    private int previousX; // Position at the start of the current tick, used to draw the object between ticks.
+    private int previousY;
 
     /**
-     * Create a new KineticGameObj at the specified position with the specified size and sprite. By default, it's
-     * velocity will be zero.
+     * Create a new KineticGameObj at the specified position with the specified size. By default, it's velocity will be
+     * zero.
      * @param position The X and Y coordinates of the top-left corner.
-     * @param size The width and height of the object. Ideally equal to the width and height of the image in sprite.
-     * @param sprite Image that will be drawn to represent the object.
+     * @param size The width and height of the object. Ideally equal to the width and height of its sprite.
      */
-    KineticGameObj(Vector2 position, Vector2 size, Image sprite, Image shadow) {
-        super(position, size, sprite, shadow);
+    KineticGameObj(Vector2 position, Vector2 size) {
+        super(position, size);
+        rememberPosition();
+    }
+
+    /**
+     * Remember where this object is now, so it can be drawn part way between here and wherever it moves to next.
+     * Called at the start of every tick.
+     */
+    void rememberPosition() {
+        previousX = left();
+        previousY = top();
+    }
+
+    /**
+     * {@return the X coordinate of this object's left side at the start of the current tick}
+     */
+    int previousLeft() {
+        return previousX;
+    }
+    /**
+     * {@return the Y coordinate of this object's top side at the start of the current tick}
+     */
+    int previousTop() {
+        return previousY;
     }
 
     /**
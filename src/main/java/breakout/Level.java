@@ -0,0 +1,555 @@
+package breakout;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * A grid of multicolored bricks.
+ * Every brick in a level is the same size and they're laid out in rows, so a brick's position is worked out from its
+ * index (brick i is in row i / columns and column i % columns) rather than stored, and all that's stored for each brick
+ * is its colour, one byte in a {@link ByteBuffer}. That buffer can be a memory-mapped file (see {@link LevelFile}), so
+ * a level of millions of bricks can be opened without copying it onto the heap. Places in the grid can be left without
+ * a brick. A {@link BitSet} records which bricks are still visible, so destroyed bricks can be skipped.
+ * <p>
+ * An endless level (see {@link #endless(int, int, long)}) has a fixed number of rows which scroll down one at a time
+ * (see {@link #scroll()}). The bottom row drops off, and its memory is reused for a new row at the top, made up by a
+ * {@link RowGenerator}, so the level never gets any bigger however long it's played.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Level {
+    static final int COLOURS = 7; // Number of different brick colours (red, orange, yellow, green, cyan, blue, violet).
+
+    // Leave 40px of vertical padding for the score counter + an extra 20px so the ball can bounce around at the top.
+    static final int FIRST_ROW_Y = 60;
+    private static final int COLUMNS = 10;
+    private static final int ROWS = 7;
+    static final int BRICK_WIDTH = 30;
+    static final int BRICK_HEIGHT = 10;
+
+    private final int brickCount;  // Number of places in the grid, including any without a brick.
+    private final int columns;     // Number of bricks in each row.
+    private final int originX;     // X coordinate of the first column's left side.
+    private final int originY;     // Y coordinate of the first row's top side.
+    private final int brickWidth;
+    private final int brickHeight;
+    private final ByteBuffer colours; // Index of each brick's colour, between 0 (red) and COLOURS - 1 (violet).
+    private final BitSet present;  // Which places in the grid have a brick, or null if they all do.
+    private int presentCount;
+    private final BitSet visible;  // Which bricks haven't been destroyed yet.
+    private final long layoutHash; // See layoutHash(), worked out when the level is created (0 for endless levels).
+
+    private final BrickGrid grid; // Lets us find the bricks near the ball quickly.
+    private int remainingVisible;
+    private int version; // Goes up by one every time a brick is destroyed.
+    private Listener listener; // Told whenever a brick is destroyed or the level is reset, or null.
+
+    // Endless levels.
+    private static final int SCREENS_AHEAD = 4; // Screens of rows to make ahead of time.
+    private final RowGenerator generator; // Makes the new rows, or null if this isn't an endless level.
+    private long rowsScrolled;            // Number of times the level has scrolled.
+
+    /**
+     * Something that wants to know every change to which bricks are visible, in order, e.g. {@link RewindBuffer}.
+     */
+    interface Listener {
+        /**
+         * Called after a brick has been destroyed.
+         * @param index The brick's index.
+         */
+        void brickDestroyed(int index);
+
+        /**
+         * Called after every brick has been made visible again.
+         */
+        void levelReset();
+
+        /**
+         * Called after an endless level has scrolled down a row, see {@link Level#scroll()}.
+         */
+        void levelScrolled();
+    }
+
+    /**
+     * Create a new 10x7 grid of rainbow-colored bricks at the top of the screen.
+     */
+    Level() {
+        this(COLUMNS, ROWS);
+    }
+
+    /**
+     * Create a new grid of rainbow-colored bricks at the top of the screen, with any number of rows and columns. The
+     * screen needs to be at least columns * 30 pixels wide to fit them all.
+     * @param columns Number of bricks in each row.
+     * @param rows Number of rows of bricks.
+     */
+    Level(int columns, int rows) {
+        this(columns, rows, 0, FIRST_ROW_Y, BRICK_WIDTH, BRICK_HEIGHT, rainbow(columns, rows), null);
+    }
+
+    /**
+     * Create a level with any layout, e.g. one read from a file by {@link LevelFile}.
+     * @param columns Number of bricks in each row.
+     * @param rows Number of rows of bricks.
+     * @param originX X coordinate of the first column's left side.
+     * @param originY Y coordinate of the first row's top side.
+     * @param brickWidth Width of every brick in pixels.
+     * @param brickHeight Height of every brick in pixels.
+     * @param colours Each brick's colour, one byte per brick from index 0, row by row. It's used as it is rather than
+     *                copied, so it can be a memory-mapped file.
+     * @param present Which places in the grid have a brick, or null if they all do.
+     * @throws IllegalArgumentException If a brick's colour isn't one the game can draw, see {@link #brickColour(int)}.
+     */
+    Level(int columns, int rows, int originX, int originY, int brickWidth, int brickHeight, ByteBuffer colours,
+          BitSet present) {
+        this(columns, rows, originX, originY, brickWidth, brickHeight, colours, present, null);
+    }
+
+    private Level(int columns, int rows, int originX, int originY, int brickWidth, int brickHeight, ByteBuffer colours,
+                  BitSet present, RowGenerator generator) {
+        final long count = (long) columns * rows;
+        if (columns < 0 || rows < 0 || count > Integer.MAX_VALUE || brickWidth <= 0 || brickHeight <= 0) {
+            throw new IllegalArgumentException("Can't make a level of " + columns + "x" + rows + " bricks, each "
+                    + brickWidth + "x" + brickHeight);
+        }
+        if (colours.limit() < count) {
+            throw new IllegalArgumentException("Only " + colours.limit() + " colours for " + count + " bricks");
+        }
+        brickCount = (int) count;
+        this.columns = columns;
+        this.originX = originX;
+        this.originY = originY;
+        this.brickWidth = brickWidth;
+        this.brickHeight = brickHeight;
+        this.colours = colours;
+        this.present = present;
+        this.generator = generator;
+
+        visible = new BitSet(brickCount);
+        if (present == null) {
+            visible.set(0, brickCount);
+        } else {
+            visible.or(present);
+            visible.clear(brickCount, Math.max(brickCount, present.length()));
+        }
+        presentCount = visible.cardinality();
+        remainingVisible = presentCount;
+        // An endless level's bricks change as it scrolls, so its layout is hashed whenever it's asked for instead.
+        layoutHash = generator == null ? hashLayout() : 0;
+        grid = new BrickGrid(this);
+    }
+
+    /**
+     * Create an endless level, made of rows that are made up as it scrolls. It starts with the first few rows empty.
+     * Call {@link #close()} when it's finished with, to stop the thread making the rows.
+     * @param columns Number of bricks in each row.
+     * @param rows Number of rows on screen at once.
+     * @param seed Decides what the rows look like, the same seed always gives the same rows.
+     * @return The level.
+     */
+    static Level endless(int columns, int rows, long seed) {
+        final Level level = new Level(columns, rows, 0, FIRST_ROW_Y, BRICK_WIDTH, BRICK_HEIGHT,
+                ByteBuffer.allocate(columns * rows), new BitSet(columns * rows),
+                new RowGenerator(seed, columns, rows * SCREENS_AHEAD));
+        level.scrollTo(0);
+        return level;
+    }
+
+    /**
+     * {@return whether this is an endless level}
+     */
+    boolean isEndless() {
+        return generator != null;
+    }
+
+    /**
+     * {@return the seed an endless level's rows are made from}
+     */
+    long getSeed() {
+        return generator.getSeed();
+    }
+
+    /**
+     * {@return number of times an endless level has scrolled, 0 for other levels}
+     */
+    long getRowsScrolled() {
+        return rowsScrolled;
+    }
+
+    /**
+     * Move every brick in an endless level down a row. The bottom row drops off, and a new row appears at the top.
+     * This only copies the colours and which bricks are visible down a row, so it takes the same time however long the
+     * level has been played.
+     */
+    void scroll() {
+        final byte[] colourArray = colours.array();
+        System.arraycopy(colourArray, 0, colourArray, columns, brickCount - columns);
+        for (int i = brickCount - 1; i >= columns; i -= 1) {
+            present.set(i, present.get(i - columns));
+            visible.set(i, visible.get(i - columns));
+        }
+        rowsScrolled += 1;
+        generator.next(rowsScrolled + getRows() - 1, colourArray, 0);
+        for (int i = 0; i < columns; i += 1) {
+            final boolean brick = colourArray[i] != RowGenerator.NO_BRICK;
+            present.set(i, brick);
+            visible.set(i, brick);
+        }
+        presentCount = present.cardinality();
+        remainingVisible = visible.cardinality();
+        version += 1;
+        if (listener != null) {
+            listener.levelScrolled();
+        }
+    }
+
+    /**
+     * Put an endless level's rows back to how they were after scrolling a number of times, with every brick in them
+     * visible (see {@link Model#loadState(ByteBuffer)}).
+     * @param rowsScrolled Number of times the level had scrolled.
+     */
+    void scrollTo(long rowsScrolled) {
+        final byte[] colourArray = colours.array();
+        this.rowsScrolled = rowsScrolled;
+        // The top row is the newest, so make the rows from the bottom up, in the order they're made ahead of time.
+        for (int row = getRows() - 1; row >= 0; row -= 1) {
+            generator.next(rowsScrolled + getRows() - 1 - row, colourArray, row * columns);
+        }
+        present.clear();
+        for (int i = 0; i < brickCount; i += 1) {
+            if (colourArray[i] != RowGenerator.NO_BRICK) {
+                present.set(i);
+            }
+        }
+        presentCount = present.cardinality();
+        visible.clear();
+        visible.or(present);
+        remainingVisible = presentCount;
+        version += 1;
+    }
+
+    /**
+     * Stop making rows for an endless level, when it isn't being played any more. Does nothing for other levels.
+     */
+    void close() {
+        if (generator != null) {
+            generator.stop();
+        }
+    }
+
+    /**
+     * Make every brick visible again, as if the level had just been created.
+     * Used to start a new level without creating a new one.
+     */
+    void reset() {
+        if (present == null) {
+            visible.set(0, brickCount);
+        } else {
+            visible.clear();
+            visible.or(present);
+            visible.clear(brickCount, Math.max(brickCount, present.length()));
+        }
+        remainingVisible = presentCount;
+        version += 1;
+        if (listener != null) {
+            listener.levelReset();
+        }
+    }
+
+    /**
+     * Set something to be told about every brick destroyed and every time the level is reset. Loading which bricks are
+     * visible with {@link #loadVisible(ByteBuffer)} doesn't tell it anything.
+     * @param listener What to tell, or null for nothing.
+     */
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Colour a grid of bricks one row at a time, in the colours of the rainbow.
+     * @param columns Number of bricks in each row.
+     * @param rows Number of rows of bricks.
+     * @return Each brick's colour, row by row.
+     */
+    private static ByteBuffer rainbow(int columns, int rows) {
+        final ByteBuffer colours = ByteBuffer.allocate(columns * rows);
+        for (int rowIndex = 0; rowIndex < rows; rowIndex += 1) {
+            // Use rowIndex modulo the number of colours, so it won't crash if we add more than 7 rows.
+            for (int brickIndex = 0; brickIndex < columns; brickIndex += 1) {
+                colours.put(rowIndex * columns + brickIndex, (byte) (rowIndex % COLOURS));
+            }
+        }
+        return colours;
+    }
+
+    /**
+     * {@return number of places for bricks in the level (including invisible bricks and places without one)}
+     */
+    int getBrickCount() {
+        return brickCount;
+    }
+
+    /**
+     * {@return number of bricks in each row}
+     */
+    int getColumns() {
+        return columns;
+    }
+    /**
+     * {@return number of rows of bricks}
+     */
+    int getRows() {
+        return columns == 0 ? 0 : brickCount / columns;
+    }
+    /**
+     * {@return the X coordinate of the first column's left side}
+     */
+    int getOriginX() {
+        return originX;
+    }
+    /**
+     * {@return the Y coordinate of the first row's top side}
+     */
+    int getOriginY() {
+        return originY;
+    }
+
+    /**
+     * {@return width of every brick in pixels}
+     */
+    int getBrickWidth() {
+        return brickWidth;
+    }
+    /**
+     * {@return height of every brick in pixels}
+     */
+    int getBrickHeight() {
+        return brickHeight;
+    }
+
+    /**
+     * {@return the X coordinate of a brick's left side}
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    int brickLeft(int index) {
+        return originX + (index % columns) * brickWidth;
+    }
+    /**
+     * {@return the X coordinate of a brick's right side}
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    int brickRight(int index) {
+        return brickLeft(index) + brickWidth;
+    }
+    /**
+     * {@return the Y coordinate of a brick's top side}
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    int brickTop(int index) {
+        return originY + (index / columns) * brickHeight;
+    }
+    /**
+     * {@return the Y coordinate of a brick's bottom side}
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    int brickBottom(int index) {
+        return brickTop(index) + brickHeight;
+    }
+    /**
+     * {@return index of a brick's colour, between 0 (red) and {@link #COLOURS} - 1 (violet)}
+     * Places without a brick can have colour -1 instead.
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    int brickColour(int index) {
+        return colours.get(index);
+    }
+
+    /**
+     * {@return whether there's a brick at a place in the grid (when the level starts), even if it's been destroyed}
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    boolean hasBrick(int index) {
+        return present == null || present.get(index);
+    }
+
+    /**
+     * {@return whether a brick is still visible (hasn't been destroyed)}
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     */
+    boolean isBrickVisible(int index) {
+        return visible.get(index);
+    }
+
+    /**
+     * Find the next visible brick, for looping over the visible bricks without checking the destroyed ones:
+     * {@code for (int i = level.nextVisibleBrick(0); i >= 0; i = level.nextVisibleBrick(i + 1))}
+     * @param fromIndex Index to start looking from (inclusive).
+     * @return The index of the next visible brick, or -1 if there are no more.
+     */
+    int nextVisibleBrick(int fromIndex) {
+        return visible.nextSetBit(fromIndex);
+    }
+
+    /**
+     * Copy which bricks are visible into a set.
+     * @param into The set to copy into, its previous contents are replaced.
+     */
+    void copyVisibleBricks(BitSet into) {
+        into.clear();
+        into.or(visible);
+    }
+
+    /**
+     * Find the first visible brick a moving object will hit while moving a certain distance, see
+     * {@link Collision#sweep(KineticGameObj, int, int, int, int, int, int)}. Only bricks near the area the object moves
+     * through are checked.
+     * @param moving The object which is about to move, usually the ball.
+     * @param dx Distance it's going to move on the X-axis.
+     * @param dy Distance it's going to move on the Y-axis.
+     * @param contact Filled in with the details of the collision with the brick that's hit.
+     * @return The brick's index, or -1 if the object won't hit any bricks.
+     */
+    int sweepBricks(KineticGameObj moving, int dx, int dy, Collision contact) {
+        return grid.firstContact(moving, dx, dy, contact);
+    }
+
+    /**
+     * Make a brick invisible and decrement the number of visible bricks.
+     * @param index The brick's index, between 0 and {@link #getBrickCount()} - 1.
+     * @return Number of visible bricks remaining.
+     */
+    int brickDestroyed(int index) {
+        visible.clear(index);
+        version += 1;
+        remainingVisible -= 1;
+        if (listener != null) {
+            listener.brickDestroyed(index);
+        }
+        return remainingVisible;
+    }
+
+    /**
+     * {@return number of bytes {@link #saveVisible(ByteBuffer)} writes, one bit per brick rounded up to whole longs}
+     */
+    int getVisibleSize() {
+        return ((brickCount + Long.SIZE - 1) / Long.SIZE) * Long.BYTES;
+    }
+
+    /**
+     * Write which bricks are visible into a buffer, one bit per brick (brick i is bit i % 64 of long i / 64).
+     * Runs of visible bricks are copied a whole long at a time, so this is quick even for a huge level.
+     * @param out The buffer to write to, it needs {@link #getVisibleSize()} bytes left.
+     */
+    void saveVisible(ByteBuffer out) {
+        final int words = getVisibleSize() / Long.BYTES;
+        long word = 0;        // The long being filled in.
+        int wordIndex = 0;    // Which long that is.
+        for (int start = visible.nextSetBit(0); start >= 0; start = visible.nextSetBit(start)) {
+            final int end = visible.nextClearBit(start); // Bricks start up to end are all visible.
+            while (start < end) {
+                while (wordIndex < start / Long.SIZE) { // Move on to the long this run starts in.
+                    out.putLong(word);
+                    word = 0;
+                    wordIndex += 1;
+                }
+                final int wordEnd = Math.min(end, (wordIndex + 1) * Long.SIZE);
+                word |= (-1L >>> (Long.SIZE - (wordEnd - start))) << start; // Set bits start up to wordEnd.
+                start = wordEnd;
+            }
+        }
+        for (; wordIndex < words; wordIndex += 1) {
+            out.putLong(word);
+            word = 0;
+        }
+    }
+
+    /**
+     * Read which bricks are visible from a buffer written by {@link #saveVisible(ByteBuffer)}, for a level of the same
+     * size. Bricks are made visible a run at a time.
+     * @param in The buffer to read from.
+     */
+    void loadVisible(ByteBuffer in) {
+        final int words = getVisibleSize() / Long.BYTES;
+        visible.clear();
+        for (int wordIndex = 0; wordIndex < words; wordIndex += 1) {
+            final int first = wordIndex * Long.SIZE;
+            long word = in.getLong();
+            while (word != 0) {
+                final int from = Long.numberOfTrailingZeros(word);
+                final long after = ~word & (-1L << from); // The clear bits after the run starting at from.
+                final int to = after == 0 ? Long.SIZE : Long.numberOfTrailingZeros(after);
+                visible.set(first + from, first + to);
+                word = to == Long.SIZE ? 0 : word & (-1L << to);
+            }
+        }
+        visible.clear(brickCount, words * Long.SIZE); // Ignore any bits past the last brick.
+        remainingVisible = visible.cardinality();
+        version += 1;
+    }
+
+    /**
+     * {@return a number made from the level's layout: its size, origin, brick size and every brick's colour}
+     * Two levels with the same layout play the same way, so replays record this to check they're played back on the
+     * level they were recorded with. It's worked out when the level is created, so asking for it doesn't read any
+     * bricks (except for an endless level, which is only a few screens of bricks).
+     */
+    long layoutHash() {
+        return generator == null ? layoutHash : hashLayout();
+    }
+
+    /**
+     * Work out {@link #layoutHash()} by reading every brick, checking each colour is one the game can draw on the way.
+     * This is the only time a level's colours are all read, so a damaged level file is caught when it's opened rather
+     * than when its bricks are drawn.
+     * @throws IllegalArgumentException If a brick's colour isn't between 0 and {@link #COLOURS} - 1, or a place without
+     *                                  a brick has a colour other than that or -1.
+     */
+    private long hashLayout() {
+        long hash = Model.FNV_OFFSET;
+        hash = Model.mix(hash, columns);
+        hash = Model.mix(hash, getRows());
+        hash = Model.mix(hash, originX);
+        hash = Model.mix(hash, originY);
+        hash = Model.mix(hash, brickWidth);
+        hash = Model.mix(hash, brickHeight);
+        for (int i = 0; i < brickCount; i += 1) {
+            final int colour = colours.get(i);
+            final boolean brick = hasBrick(i);
+            if (colour >= COLOURS || colour < (brick ? 0 : RowGenerator.NO_BRICK)) {
+                throw new IllegalArgumentException("Brick " + i + " has colour " + colour + ", expected 0 to "
+                        + (COLOURS - 1));
+            }
+            hash = Model.mix(hash, brick ? colour : -1);
+        }
+        return hash;
+    }
+
+    /**
+     * {@return a number made from which bricks are visible, for {@link Model#checksum()}}
+     */
+    long checksum() {
+        return (long) visible.hashCode() * 31 + remainingVisible + (rowsScrolled << 32);
+    }
+
+    /**
+     * Copy every brick's colour, see {@link #brickColour(int)}.
+     * @param into The array to copy into, at least {@link #getBrickCount()} long.
+     */
+    void copyColours(byte[] into) {
+        colours.get(0, into, 0, brickCount);
+    }
+
+    /**
+     * {@return number of bricks that haven't been destroyed}
+     */
+    int getVisibleBrickCount() {
+        return remainingVisible;
+    }
+
+    /**
+     * {@return a number which changes whenever a brick is destroyed, so copies of the level can tell if they're stale}
+     */
+    int getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,288 @@
+package breakout;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reads and writes {@link Level}s as files, in two formats:
+ * <ul>
+ * <li>Text, for making levels by hand. Files end in {@value #TEXT_EXTENSION}. Optional {@code size <width> <height>}
+ * and {@code origin <x> <y>} lines say how big the bricks are and where the first one goes, then a {@code bricks} line
+ * is followed by one line per row with one character per brick: {@value #COLOUR_LETTERS} for red to violet, or
+ * {@value #NO_BRICK} for no brick. Lines starting with {@code #} before the bricks are comments.</li>
+ * <li>Binary, for playing (any other extension, usually {@value #BINARY_EXTENSION}). It starts with {@link #MAGIC},
+ * {@link #VERSION}, the number of columns and rows, the origin and the brick size (ints), then a byte saying whether
+ * any places have no brick, and if so a bitmap of which places do (one bit per place, in longs, as in
+ * {@link Level#saveVisible(ByteBuffer)}), then one byte per brick for its colour.</li>
+ * </ul>
+ * Binary levels are memory-mapped rather than read, and the level uses the colours straight from the mapping, so
+ * opening a level of millions of bricks doesn't copy its colours anywhere. They're read once, straight from the
+ * mapping, when the level is opened, to check each one is a colour the game can draw and work out the level's
+ * {@link Level#layoutHash()}, so nothing has to read them all again when the game starts.
+ * <p>
+ * Run it with {@code ./gradlew convertLevel --args="<from> <to>"} to convert a level from one format to the other.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public class LevelFile {
+    static final int MAGIC = 0x424b4c56; // "BKLV", so we can tell the file is a level.
+    static final short VERSION = 1;      // Goes up whenever the format changes.
+    static final String TEXT_EXTENSION = ".txt";
+    static final String BINARY_EXTENSION = ".level";
+    static final String COLOUR_LETTERS = "ROYGCBV"; // Letter for each colour in text levels, in order.
+    static final char NO_BRICK = '.';
+
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + 6 * Integer.BYTES + Byte.BYTES;
+
+    /**
+     * Convert a level from one format to the other.
+     * @param args The file to read and the file to write, the formats are chosen from their extensions.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelFile <from> <to>");
+            System.exit(1);
+        }
+        final long start = System.nanoTime();
+        final Level level = read(Path.of(args[0]));
+        write(level, Path.of(args[1]));
+        System.out.printf("Converted %d bricks in %.1f ms%n", level.getBrickCount(), (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Read a level, in whichever format its extension says.
+     * @param file The level file.
+     * @return The level.
+     * @throws IllegalArgumentException If the file isn't a valid level.
+     */
+    static Level read(Path file) throws IOException {
+        return isText(file) ? readText(file) : readBinary(file);
+    }
+
+    /**
+     * Write a level, in whichever format the file's extension says.
+     * @param level The level to write, as it was when it started.
+     * @param file The file to write, it's replaced if it already exists.
+     */
+    static void write(Level level, Path file) throws IOException {
+        if (isText(file)) {
+            writeText(level, file);
+        } else {
+            writeBinary(level, file);
+        }
+    }
+
+    private static boolean isText(Path file) {
+        return file.getFileName().toString().endsWith(TEXT_EXTENSION);
+    }
+
+    /**
+     * Open a binary level by memory-mapping it. The colours are read once, to check them, but not copied.
+     * @param file The level file.
+     * @return The level, which uses the mapped file for its colours.
+     * @throws IllegalArgumentException If the file isn't a valid level.
+     */
+    static Level readBinary(Path file) throws IOException {
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (mapped.getInt() != MAGIC) {
+                throw new IllegalArgumentException(file + " isn't a level");
+            }
+            final short version = mapped.getShort();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(file + " is version " + version + ", expected " + VERSION);
+            }
+            final int columns = mapped.getInt();
+            final int rows = mapped.getInt();
+            final int originX = mapped.getInt();
+            final int originY = mapped.getInt();
+            final int brickWidth = mapped.getInt();
+            final int brickHeight = mapped.getInt();
+            final boolean hasGaps = mapped.get() != 0;
+            final long bricks = (long) columns * rows;
+            final long expectedSize = HEADER_SIZE + (hasGaps ? bitmapSize(bricks) : 0) + bricks;
+            if (columns < 0 || rows < 0 || mapped.capacity() != expectedSize) {
+                throw new IllegalArgumentException(file + " is " + mapped.capacity() + " bytes, expected "
+                        + expectedSize + " for " + columns + "x" + rows + " bricks");
+            }
+
+            BitSet present = null;
+            if (hasGaps) {
+                final int size = (int) bitmapSize(bricks);
+                present = BitSet.valueOf(mapped.slice(mapped.position(), size).asLongBuffer());
+                mapped.position(mapped.position() + size);
+            }
+            final ByteBuffer colours = mapped.slice(mapped.position(), (int) bricks);
+            try {
+                return new Level(columns, rows, originX, originY, brickWidth, brickHeight, colours, present);
+            } catch (IllegalArgumentException e) { // Say which file is wrong.
+                throw new IllegalArgumentException(file + ": " + e.getMessage());
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(file + " ends before its header does");
+        }
+    }
+
+    /**
+     * Write a level in the binary format, by memory-mapping the file.
+     * @param level The level to write, as it was when it started.
+     * @param file The file to write, it's replaced if it already exists.
+     */
+    static void writeBinary(Level level, Path file) throws IOException {
+        final int bricks = level.getBrickCount();
+        boolean hasGaps = false;
+        for (int i = 0; i < bricks && !hasGaps; i += 1) {
+            hasGaps = !level.hasBrick(i);
+        }
+        final long size = HEADER_SIZE + (hasGaps ? bitmapSize(bricks) : 0) + bricks;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+            out.putInt(level.getColumns());
+            out.putInt(level.getRows());
+            out.putInt(level.getOriginX());
+            out.putInt(level.getOriginY());
+            out.putInt(level.getBrickWidth());
+            out.putInt(level.getBrickHeight());
+            out.put((byte) (hasGaps ? 1 : 0));
+            if (hasGaps) {
+                for (int first = 0; first < bricks; first += Long.SIZE) {
+                    long word = 0;
+                    for (int bit = 0; bit < Long.SIZE && first + bit < bricks; bit += 1) {
+                        if (level.hasBrick(first + bit)) {
+                            word |= 1L << bit;
+                        }
+                    }
+                    out.putLong(word);
+                }
+            }
+            for (int i = 0; i < bricks; i += 1) {
+                out.put((byte) level.brickColour(i));
+            }
+            out.force();
+        }
+    }
+
+    /**
+     * Read a level in the text format.
+     * @param file The level file.
+     * @return The level.
+     * @throws IllegalArgumentException If the file isn't a valid level.
+     */
+    static Level readText(Path file) throws IOException {
+        final List<String> lines = Files.readAllLines(file);
+        int brickWidth = Level.BRICK_WIDTH;
+        int brickHeight = Level.BRICK_HEIGHT;
+        int originX = 0;
+        int originY = Level.FIRST_ROW_Y;
+
+        // The settings, up to the "bricks" line.
+        int line = 0;
+        for (; line < lines.size(); line += 1) {
+            final String[] words = lines.get(line).trim().split("\\s+");
+            if (words[0].isEmpty() || words[0].startsWith("#")) {
+                continue;
+            }
+            if (words[0].equals("bricks")) {
+                line += 1;
+                break;
+            }
+            if (words.length != 3 || !(words[0].equals("size") || words[0].equals("origin"))) {
+                throw new IllegalArgumentException(file + ":" + (line + 1) + ": Expected size, origin or bricks");
+            }
+            try {
+                if (words[0].equals("size")) {
+                    brickWidth = Integer.parseInt(words[1]);
+                    brickHeight = Integer.parseInt(words[2]);
+                } else {
+                    originX = Integer.parseInt(words[1]);
+                    originY = Integer.parseInt(words[2]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(file + ":" + (line + 1) + ": " + e.getMessage());
+            }
+        }
+
+        // The bricks, one row per line, ignoring blank lines at the end.
+        int end = lines.size();
+        while (end > line && lines.get(end - 1).isBlank()) {
+            end -= 1;
+        }
+        final int rows = end - line;
+        int columns = 0;
+        for (int row = 0; row < rows; row += 1) {
+            columns = Math.max(columns, lines.get(line + row).stripTrailing().length());
+        }
+        final ByteBuffer colours = ByteBuffer.allocate(columns * rows);
+        final BitSet present = new BitSet(columns * rows);
+        for (int row = 0; row < rows; row += 1) {
+            final String bricks = lines.get(line + row).stripTrailing();
+            for (int column = 0; column < bricks.length(); column += 1) {
+                final char letter = bricks.charAt(column);
+                if (letter == NO_BRICK || letter == ' ') {
+                    continue;
+                }
+                final int colour = COLOUR_LETTERS.indexOf(Character.toUpperCase(letter));
+                if (colour < 0) {
+                    throw new IllegalArgumentException(file + ":" + (line + row + 1) + ": '" + letter
+                            + "' isn't one of " + COLOUR_LETTERS + " or " + NO_BRICK);
+                }
+                colours.put(row * columns + column, (byte) colour);
+                present.set(row * columns + column);
+            }
+        }
+        return new Level(columns, rows, originX, originY, brickWidth, brickHeight, colours,
+                present.cardinality() == columns * rows ? null : present);
+    }
+
+    /**
+     * Write a level in the text format.
+     * @param level The level to write, as it was when it started.
+     * @param file The file to write, it's replaced if it already exists.
+     */
+    static void writeText(Level level, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("# Breakout level: one line per row of bricks, " + COLOUR_LETTERS + " for red to violet, "
+                    + NO_BRICK + " for no brick.");
+            out.newLine();
+            out.write("size " + level.getBrickWidth() + " " + level.getBrickHeight());
+            out.newLine();
+            out.write("origin " + level.getOriginX() + " " + level.getOriginY());
+            out.newLine();
+            out.write("bricks");
+            out.newLine();
+            final char[] row = new char[level.getColumns()];
+            for (int first = 0; first < level.getBrickCount(); first += row.length) {
+                for (int column = 0; column < row.length; column += 1) {
+                    final int brick = first + column;
+                    row[column] = level.hasBrick(brick) ? COLOUR_LETTERS.charAt(level.brickColour(brick)) : NO_BRICK;
+                }
+                out.write(row);
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * {@return number of bytes in a bitmap with a bit for each brick, rounded up to whole longs}
+     */
+    private static long bitmapSize(long bricks) {
+        return (bricks + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
+    }
+}
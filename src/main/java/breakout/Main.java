@@ -0,0 +1,116 @@
+package breakout;
+
+import javafx.application.Application;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Used to start the Breakout game.
+ * Give it a level file (see {@link LevelFile}) to play that level instead of the usual one, e.g.
+ * {@code ./gradlew run --args="levels/pyramid.txt"}. Give it {@value #ENDLESS_OPTION} to play endless mode instead,
+ * optionally followed by {@code =<seed>} to play the same rows again.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public class Main extends Application {
+    public static final int WINDOW_WIDTH = 300; // Width of game window (in pixels).
+    public static final int WINDOW_HEIGHT = 400; // Height of game window (in pixels)
+    private static final String TRACE_FILE = "breakout-trace.log"; // Where debugging messages are written.
+    private static final String REPLAY_FOLDER = "replays"; // Where every game is recorded, see ReplayPlayer.
+    private static final int REWIND_SECONDS = 10; // How far back the R key can go.
+    private static final String ENDLESS_OPTION = "--endless";
+
+    /**
+     * This is only used when launching from the command line.
+     */
+    public static void main(String[] args) {
+        // 'launch' initialises the system and then calls 'start'
+        // (When running in BlueJ, the menu option 'Run JavaFX Application'
+        // calls 'start' itself)
+        launch(args);
+    }
+
+    /**
+     * Creates the {@link Model}, {@link View} and {@link Controller} objects and makes them talk to each other, it then
+     * sets up the user interface (in the View object) and starts the game running (in the Model object).
+     */
+    public void start(Stage window) {
+        // Set up debugging and record initial debugging message.
+        Debug.set(true); // Change this to 'false' to stop breakout recording messages.
+        try { // Tracing is cheap enough to leave on, but the messages go to a file so they don't fill the console.
+            Tracer.setOutput(Files.newBufferedWriter(Path.of(TRACE_FILE)));
+        } catch (IOException e) {
+            Debug.error("Main::start: Couldn't create %s, tracing to the console instead", TRACE_FILE);
+        }
+        Debug.trace("Main::start: Breakout starting");
+        Metrics.register(); // Let monitoring tools see how the game is running.
+
+        // Create the Model, View and Controller objects
+        Model model = new Model(WINDOW_WIDTH, WINDOW_HEIGHT);
+        try { // Record every game, so any bug can be reproduced by playing it back.
+            model.setReplayFolder(Files.createDirectories(Path.of(REPLAY_FOLDER)));
+        } catch (IOException e) {
+            Debug.error("Main::start: Couldn't create %s, games won't be recorded", REPLAY_FOLDER);
+        }
+        model.setRewindLength(REWIND_SECONDS);
+        final List<String> arguments = getParameters().getRaw();
+        if (!arguments.isEmpty() && arguments.get(0).startsWith(ENDLESS_OPTION)) {
+            try {
+                model.setEndless(endlessSeed(arguments.get(0)));
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.err.println("Usage: Main [<level file> | " + ENDLESS_OPTION + "[=<seed>]]");
+                System.exit(1);
+            }
+        } else if (!arguments.isEmpty()) {
+            model.setLevelFile(Path.of(arguments.get(0)));
+        }
+        View view = new View(model);
+        Controller controller = new Controller(model);
+
+        // Link them together, so they can talk to each other
+        // Communication in MVC is one-way, so don't store the view in the controller, etc.
+        view.setController(controller);
+
+        // start up the game interface (the View object, passing it the window
+        // object that JavaFX passed to this method, and then tell the model to
+        // start the game
+        view.start(window);
+        model.startGame();
+
+        // Application is now running - print a debug message to say so.
+        Debug.trace("Main::start: Breakout running");
+    }
+
+    /**
+     * Work out the seed for endless mode from the {@value #ENDLESS_OPTION} argument.
+     * @param argument {@value #ENDLESS_OPTION} for a random seed, or {@value #ENDLESS_OPTION}=&lt;seed&gt; to choose
+     *                 it.
+     * @return The seed, never 0 as {@link Model#setEndless(long)} takes that to mean a normal level.
+     * @throws IllegalArgumentException If the argument isn't one of those, or the seed isn't a whole number other
+     *                                  than 0.
+     */
+    static long endlessSeed(String argument) {
+        final String seed = argument.substring(ENDLESS_OPTION.length());
+        if (seed.isEmpty()) {
+            return System.nanoTime() | 1;
+        }
+        if (!seed.startsWith("=")) {
+            throw new IllegalArgumentException("Unknown option " + argument);
+        }
+        final long value;
+        try {
+            value = Long.parseLong(seed.substring(1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The seed must be a whole number: " + seed.substring(1));
+        }
+        if (value == 0) {
+            throw new IllegalArgumentException("The seed can't be 0");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,288 @@
+package breakout;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measurements of how the game is running: how long ticks and frames take, how often the game falls behind, how long
+ * key presses wait to be used, how many bricks the collision checks look at, and so on. Everything in the program
+ * records into the same set of measurements (the static fields), using counters and {@link Histogram}s that any number
+ * of threads can add to at once without locking or allocating anything.
+ * <p>
+ * {@link #register()} makes the measurements visible over JMX as {@value #OBJECT_NAME}, so tools like JConsole (or a
+ * dashboard) can watch a running game. Setting the system property {@value #CSV_PROPERTY} to a file name also writes
+ * them to that file as CSV when the program ends.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public class Metrics implements MetricsMBean {
+    static final String OBJECT_NAME = "breakout:type=Metrics";
+    static final String CSV_PROPERTY = "breakout.metrics.csv";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    static final Histogram TICK_TIME = new Histogram();     // Nanoseconds taken by each Model update.
+    static final Histogram RENDER_TIME = new Histogram();   // Nanoseconds taken to draw each frame.
+    static final Histogram LOCK_WAIT = new Histogram();     // Nanoseconds the game thread waited to lock the Model.
+    static final Histogram INPUT_LATENCY = new Histogram(); // Nanoseconds from a key press to the tick that used it.
+    static final LongAdder INPUT_DROPPED = new LongAdder();        // Key presses lost because the input queue was full.
+    static final LongAdder TICKS_CAUGHT_UP = new LongAdder();      // Extra ticks run at once after falling behind.
+    static final LongAdder OVERRUNS = new LongAdder();      // Times the game fell so far behind it had to skip ticks.
+    static final LongAdder DROPPED_TICKS = new LongAdder(); // Ticks skipped because the game fell too far behind.
+    static final LongAdder COLLISION_CANDIDATES = new LongAdder(); // Bricks checked for collisions.
+    static final LongAdder BRICKS_DESTROYED = new LongAdder();
+
+    // Bricks destroyed per second is worked out once a second, from how many had been destroyed at the start of it.
+    private static volatile long secondStart = System.nanoTime();
+    private static long bricksAtSecondStart;
+    private static volatile long bricksPerSecond;
+
+    // Milliseconds from the program starting to the first frame being drawn, -1 until it has been. Not reset, since the
+    // game only starts up once.
+    private static volatile long firstFrameMillis = -1;
+
+    private static boolean registered;
+
+    /**
+     * Make the measurements visible over JMX, and write them to a CSV file when the program ends if
+     * {@value #CSV_PROPERTY} is set. Calling this more than once does nothing.
+     */
+    static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new Metrics(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            Debug.error("Metrics::register: %s", e.getMessage());
+        }
+
+        final String csv = System.getProperty(CSV_PROPERTY);
+        if (csv != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writeCsv(Path.of(csv));
+                } catch (IOException e) {
+                    Debug.error("Metrics::writeCsv: %s", e.getMessage());
+                }
+            }, "Metrics CSV"));
+        }
+    }
+
+    /**
+     * Record how long the game took to start up, once the first frame has been drawn.
+     * @param uptimeMillis Milliseconds since the program started.
+     */
+    static void firstFrameDrawn(long uptimeMillis) {
+        firstFrameMillis = uptimeMillis;
+    }
+
+    /**
+     * Count the bricks destroyed in an update, and work out the bricks destroyed per second if a second has passed.
+     * @param bricks Number of bricks destroyed.
+     * @param now The time, from {@link System#nanoTime()}.
+     */
+    static void bricksDestroyed(int bricks, long now) {
+        if (bricks > 0) {
+            BRICKS_DESTROYED.add(bricks);
+        }
+        if (now - secondStart >= NANOS_PER_SECOND) {
+            nextSecond(now);
+        }
+    }
+
+    private static synchronized void nextSecond(long now) {
+        final long elapsed = now - secondStart;
+        if (elapsed < NANOS_PER_SECOND) { // Another thread got here first.
+            return;
+        }
+        final long bricks = BRICKS_DESTROYED.sum();
+        bricksPerSecond = (bricks - bricksAtSecondStart) * NANOS_PER_SECOND / elapsed;
+        bricksAtSecondStart = bricks;
+        secondStart = now;
+    }
+
+    /**
+     * Write every measurement to a CSV file, one per line with its name and value.
+     * @param file The file to write, it's replaced if it already exists.
+     */
+    static void writeCsv(Path file) throws IOException {
+        final Metrics metrics = new Metrics();
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("metric,value");
+            out.println("ticks," + metrics.getTicks());
+            out.println("ticksCaughtUp," + metrics.getTicksCaughtUp());
+            out.println("overruns," + metrics.getOverruns());
+            out.println("droppedTicks," + metrics.getDroppedTicks());
+            out.println("tickP50Micros," + metrics.getTickP50Micros());
+            out.println("tickP99Micros," + metrics.getTickP99Micros());
+            out.println("tickP999Micros," + metrics.getTickP999Micros());
+            out.println("tickMaxMicros," + metrics.getTickMaxMicros());
+            out.println("frames," + metrics.getFrames());
+            out.println("firstFrameMillis," + metrics.getFirstFrameMillis());
+            out.println("renderP50Micros," + metrics.getRenderP50Micros());
+            out.println("renderP99Micros," + metrics.getRenderP99Micros());
+            out.println("renderP999Micros," + metrics.getRenderP999Micros());
+            out.println("renderMaxMicros," + metrics.getRenderMaxMicros());
+            out.println("lockWaitP50Micros," + metrics.getLockWaitP50Micros());
+            out.println("lockWaitP99Micros," + metrics.getLockWaitP99Micros());
+            out.println("lockWaitP999Micros," + metrics.getLockWaitP999Micros());
+            out.println("lockWaitMaxMicros," + metrics.getLockWaitMaxMicros());
+            out.println("inputs," + metrics.getInputs());
+            out.println("inputsDropped," + metrics.getInputsDropped());
+            out.println("inputLatencyP50Micros," + metrics.getInputLatencyP50Micros());
+            out.println("inputLatencyP99Micros," + metrics.getInputLatencyP99Micros());
+            out.println("inputLatencyP999Micros," + metrics.getInputLatencyP999Micros());
+            out.println("inputLatencyMaxMicros," + metrics.getInputLatencyMaxMicros());
+            out.println("collisionCandidates," + metrics.getCollisionCandidates());
+            out.println("bricksDestroyed," + metrics.getBricksDestroyed());
+            out.println("bricksDestroyedPerSecond," + metrics.getBricksDestroyedPerSecond());
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+
+    // Getters for JMX, see MetricsMBean.
+
+    @Override
+    public long getTicks() {
+        return TICK_TIME.getCount();
+    }
+    @Override
+    public long getTicksCaughtUp() {
+        return TICKS_CAUGHT_UP.sum();
+    }
+    @Override
+    public long getOverruns() {
+        return OVERRUNS.sum();
+    }
+    @Override
+    public long getDroppedTicks() {
+        return DROPPED_TICKS.sum();
+    }
+    @Override
+    public double getTickP50Micros() {
+        return micros(TICK_TIME.getPercentile(0.5));
+    }
+    @Override
+    public double getTickP99Micros() {
+        return micros(TICK_TIME.getPercentile(0.99));
+    }
+    @Override
+    public double getTickP999Micros() {
+        return micros(TICK_TIME.getPercentile(0.999));
+    }
+    @Override
+    public double getTickMaxMicros() {
+        return micros(TICK_TIME.getMax());
+    }
+
+    @Override
+    public long getFrames() {
+        return RENDER_TIME.getCount();
+    }
+    @Override
+    public long getFirstFrameMillis() {
+        return firstFrameMillis;
+    }
+    @Override
+    public double getRenderP50Micros() {
+        return micros(RENDER_TIME.getPercentile(0.5));
+    }
+    @Override
+    public double getRenderP99Micros() {
+        return micros(RENDER_TIME.getPercentile(0.99));
+    }
+    @Override
+    public double getRenderP999Micros() {
+        return micros(RENDER_TIME.getPercentile(0.999));
+    }
+    @Override
+    public double getRenderMaxMicros() {
+        return micros(RENDER_TIME.getMax());
+    }
+
+    @Override
+    public double getLockWaitP50Micros() {
+        return micros(LOCK_WAIT.getPercentile(0.5));
+    }
+    @Override
+    public double getLockWaitP99Micros() {
+        return micros(LOCK_WAIT.getPercentile(0.99));
+    }
+    @Override
+    public double getLockWaitP999Micros() {
+        return micros(LOCK_WAIT.getPercentile(0.999));
+    }
+    @Override
+    public double getLockWaitMaxMicros() {
+        return micros(LOCK_WAIT.getMax());
+    }
+
+    @Override
+    public long getInputs() {
+        return INPUT_LATENCY.getCount();
+    }
+    @Override
+    public long getInputsDropped() {
+        return INPUT_DROPPED.sum();
+    }
+    @Override
+    public double getInputLatencyP50Micros() {
+        return micros(INPUT_LATENCY.getPercentile(0.5));
+    }
+    @Override
+    public double getInputLatencyP99Micros() {
+        return micros(INPUT_LATENCY.getPercentile(0.99));
+    }
+    @Override
+    public double getInputLatencyP999Micros() {
+        return micros(INPUT_LATENCY.getPercentile(0.999));
+    }
+    @Override
+    public double getInputLatencyMaxMicros() {
+        return micros(INPUT_LATENCY.getMax());
+    }
+
+    @Override
+    public long getCollisionCandidates() {
+        return COLLISION_CANDIDATES.sum();
+    }
+    @Override
+    public long getBricksDestroyed() {
+        return BRICKS_DESTROYED.sum();
+    }
+    @Override
+    public long getBricksDestroyedPerSecond() {
+        return bricksPerSecond;
+    }
+
+    @Override
+    public void reset() {
+        TICK_TIME.reset();
+        RENDER_TIME.reset();
+        LOCK_WAIT.reset();
+        INPUT_LATENCY.reset();
+        INPUT_DROPPED.reset();
+        TICKS_CAUGHT_UP.reset();
+        OVERRUNS.reset();
+        DROPPED_TICKS.reset();
+        COLLISION_CANDIDATES.reset();
+        BRICKS_DESTROYED.reset();
+        synchronized (Metrics.class) {
+            bricksAtSecondStart = 0;
+            bricksPerSecond = 0;
+            secondStart = System.nanoTime();
+        }
+    }
+}
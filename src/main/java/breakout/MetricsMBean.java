@@ -0,0 +1,47 @@
+package breakout;
+
+/**
+ * What {@link Metrics} shows over JMX, e.g. in JConsole or to a monitoring dashboard. Times are in microseconds.
+ * (JMX finds the attributes by looking for getters in an interface named after the class with "MBean" on the end,
+ * which has to be public.)
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public interface MetricsMBean {
+    long getTicks();
+    long getTicksCaughtUp();
+    long getOverruns();
+    long getDroppedTicks();
+    double getTickP50Micros();
+    double getTickP99Micros();
+    double getTickP999Micros();
+    double getTickMaxMicros();
+
+    long getFrames();
+    long getFirstFrameMillis();
+    double getRenderP50Micros();
+    double getRenderP99Micros();
+    double getRenderP999Micros();
+    double getRenderMaxMicros();
+
+    double getLockWaitP50Micros();
+    double getLockWaitP99Micros();
+    double getLockWaitP999Micros();
+    double getLockWaitMaxMicros();
+
+    long getInputs();
+    long getInputsDropped();
+    double getInputLatencyP50Micros();
+    double getInputLatencyP99Micros();
+    double getInputLatencyP999Micros();
+    double getInputLatencyMaxMicros();
+
+    long getCollisionCandidates();
+    long getBricksDestroyed();
+    long getBricksDestroyedPerSecond();
+
+    /**
+     * Forget everything recorded so far, e.g. to start measuring again after changing something.
+     */
+    void reset();
+}
@@ -0,0 +1,1148 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents all the actual content and functionality of the game.
+ * It manages all the game objects that the {@link View} needs (the {@link Paddle}, {@link Ball}s, bricks, and the
+ * score), provides methods to allow the {@link Controller} to move the paddle (and a couple of other functions - change
+ * the speed or stop the game), and runs a background process (a 'thread') that moves the ball 60 times per second and
+ * checks for collisions.
+ * The Model doesn't use JavaFX at all, so a game can be created and stepped with {@link #updateGame()} without a GUI.
+ * <p>
+ * There can be more than one ball in play (see {@link #addBall(int, int, int, int)}). When there are lots of them, they
+ * are moved on several threads at once, see {@link BallMotion} for how that still gives the same result as moving them
+ * one at a time.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Model {
+    static final int MENU_HEIGHT = 40; // Height of menu bar space at the top (in pixels).
+    static final int TICKS_PER_SECOND = 60; // Number of times the game updates per second.
+
+    private static final double FAST_TIME_SCALE = 2.0; // How much faster the game runs in fast mode.
+
+    private static final int HIT_BRICK = 50;   // Score for hitting a brick.
+    private static final int BALL_START_X = 30;  // Where the ball (re)spawns.
+    private static final int BALL_START_Y = 200;
+    private static final int PARALLEL_BALLS = 256; // Fewest balls worth moving on more than one thread.
+    private static final int BALLS_PER_TASK = 128; // Balls moved by each thread task.
+    static final long FNV_OFFSET = 0xcbf29ce484222325L; // Starting value for checksums.
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int ENDLESS_ROWS = 12;       // Rows on screen in endless mode, ending above the ball's start.
+    private static final int SCROLL_SECONDS = 4;      // Time between endless levels scrolling down a row.
+
+    // Saved game states, see saveState(ByteBuffer).
+    static final int STATE_MAGIC = 0x424b5356;  // "BKSV", so we can tell the bytes are a saved game.
+    static final short STATE_VERSION = 2;       // Goes up whenever the format changes.
+    static final int LEVEL_RESET = -1;          // Stands for the level being reset in a delta's brick changes.
+    static final int LEVEL_SCROLLED = -2;       // Stands for an endless level scrolling down a row.
+    private static final int OBJECTS_HEADER_SIZE = Long.BYTES + 2 * Integer.BYTES + Byte.BYTES + Double.BYTES
+            + Long.BYTES          // Next scroll.
+            + 5 * Integer.BYTES   // Paddle.
+            + Integer.BYTES;      // Number of balls.
+    private static final int STATE_HEADER_SIZE = Integer.BYTES + Short.BYTES + 2 * Integer.BYTES // Magic to height.
+            + OBJECTS_HEADER_SIZE + Integer.BYTES // Number of bricks.
+            + Long.BYTES;                         // Number of rows scrolled.
+    private static final int STATE_BALL_SIZE = 6 * Integer.BYTES;
+
+    // Inputs passed from the Controller to the game thread.
+    private static final int LEFT_PRESSED = 0;
+    private static final int LEFT_RELEASED = 1;
+    private static final int RIGHT_PRESSED = 2;
+    private static final int RIGHT_RELEASED = 3;
+
+    // The game 'model' - these represent the state of the game and are used by the View to display it.
+    private final List<Ball> balls = new ArrayList<>(); // The balls, the first one is the one the game started with.
+    private Level level;   // The level, which contains the list of bricks.
+    private Paddle paddle; // The paddle
+    private int score;     // The score
+    private int lives;     // Number of lives
+
+    // Used to move the balls, reused every update rather than making new ones.
+    private final List<BallMotion> motions = new ArrayList<>(); // Works out how each ball moves, indexed by ball.
+    private final SweepAndPrune nearby = new SweepAndPrune();  // Finds the balls near the paddle.
+    private boolean ballsChanged;                               // Whether balls were added or removed.
+    private final BitSet nearPaddle = new BitSet();             // Indexes of the balls near the paddle.
+    private final List<Ball> ballsNearPaddle = new ArrayList<>();
+    private final BitSet lostBalls = new BitSet();              // Indexes of the balls that fell off the bottom.
+    private boolean parallel = true; // Whether lots of balls can be moved on several threads at once.
+
+    // Copies of the game state for the View, so it can draw without locking the Model.
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private long tick; // Number of updates since the game started.
+
+    // Variables that control the game.
+    private volatile boolean gameFinished; // Set to true to end the game.
+    private volatile boolean paused;       // Set to true to stop the game updating until it's set back to false.
+    private volatile Thread gameThread;    // The thread running the game loop, so it can be woken up.
+    private volatile Runnable changeListener; // Told when the game starts, is paused, is resumed or finishes.
+    private final GameLoop loop; // Decides when to update, and how fast.
+    private final int ticksPerSecond;
+    private final int ballSpeed;   // Distance the ball moves per update, faster if there are fewer updates per second.
+    private final int paddleSpeed; // Distance the paddle moves per update.
+
+    // Variables that keep track of which keys are held. The Controller doesn't set these itself, it puts key presses
+    // in a queue which the game thread empties at the start of each tick, so neither has to wait for the other.
+    private final InputQueue input = new InputQueue();
+    private final InputQueue.Handler inputHandler = this::handleInput; // Made once, so using it doesn't allocate.
+    private long tickStart;      // When the current tick started, to measure how long inputs waited.
+    private boolean leftHeld = false;
+    private boolean rightHeld = false;
+    private boolean leftPressed;  // Whether left was pressed since the last tick (even if it's been released again).
+    private boolean rightPressed;
+    private boolean fastToggled;  // Whether fast mode was toggled since the last tick, for the replay.
+    private Autopilot autopilot;  // Moves the paddle instead of the keys, or null if the keys move it.
+
+    // Recording the game so it can be played back, see ReplayWriter.
+    private Path replayFolder; // Where to save replays, or null not to record them.
+    private ReplayWriter replay; // Records the game being played, or null if it isn't being recorded.
+
+    private Path levelFile; // The level to play, or null for the usual one.
+    private long endlessSeed; // Seed for endless mode's rows, or 0 to play a normal level.
+    private long nextScroll;  // Tick an endless level scrolls down a row next.
+
+    // Keeping the last few seconds so the game can be rewound, see RewindBuffer.
+    private int rewindSeconds;   // How many seconds to keep, or 0 not to.
+    private RewindBuffer rewind; // Keeps them, or null if they aren't being kept.
+
+    // Initialisation parameters for the model.
+    public int width;  // Width of game.
+    public int height; // Height of game.
+
+    /**
+     * Create a model - needs to know how big the window will be.
+     * @param width width of the window in pixels.
+     * @param height height of the window in pixels.
+      */
+    Model(int width, int height) {
+        this(width, height, TICKS_PER_SECOND);
+    }
+
+    /**
+     * Create a model which updates a different number of times per second to usual. The ball and paddle move further in
+     * each update to make up for it, so the game plays at the same speed, e.g. on a busy computer the game could update
+     * 30 times per second instead of 60.
+     * @param width width of the window in pixels.
+     * @param height height of the window in pixels.
+     * @param ticksPerSecond Number of times the game updates per second, must divide {@link #TICKS_PER_SECOND}.
+     */
+    Model(int width, int height, int ticksPerSecond) {
+        Debug.trace("Model::<constructor>");
+        if (ticksPerSecond <= 0 || TICKS_PER_SECOND % ticksPerSecond != 0) {
+            throw new IllegalArgumentException("Ticks per second must divide " + TICKS_PER_SECOND + ": "
+                    + ticksPerSecond);
+        }
+        this.width = width;
+        this.height = height;
+        loop = new GameLoop(ticksPerSecond);
+        this.ticksPerSecond = ticksPerSecond;
+        ballSpeed = Ball.SPEED * TICKS_PER_SECOND / ticksPerSecond;
+        paddleSpeed = Paddle.SPEED * TICKS_PER_SECOND / ticksPerSecond;
+    }
+
+    // Animating the game.
+    // The game is animated by using a 'thread'. Threads allow the program to do 
+    // two (or more) things at the same time. In this case the main program is
+    // doing the usual thing (View waits for input, sends it to Controller,
+    // Controller sends to Model, Model updates), but a second thread runs in 
+    // a loop, updating the position of the ball, checking if it hits anything
+    // (and changing direction if it does) and then telling the View the Model 
+    // changed. (The View redraws itself once per monitor refresh, so the Model
+    // never has to tell it anything.)
+    
+    // When we use more than one thread, we have to take care that they don't
+    // interfere with each other (for example, one thread changing the value of 
+    // a variable at the same time the other is reading it). We do this by 
+    // SYNCHRONIZING methods. For any object, only one synchronized method can
+    // be running at a time - if another thread tries to run the same or another
+    // synchronized method on the same object, it will stop and wait for the
+    // first one to finish.
+
+    /**
+     * Record every game from now on, so it can be played back with {@link ReplayPlayer}. Each game is saved in its own
+     * file, named after the time it started.
+     * @param replayFolder Folder to save the replays in, or null to stop recording.
+     */
+    void setReplayFolder(Path replayFolder) {
+        this.replayFolder = replayFolder;
+    }
+
+    /**
+     * Keep the last few seconds of every game from now on, so it can be rewound with {@link #rewind(double)}. The
+     * memory for them is allocated when each game starts (and reused by the next game if it's big enough), enough to
+     * hold the level being played with the same number of balls; if more balls are added, fewer seconds are kept.
+     * @param rewindSeconds How many seconds to keep, or 0 to stop keeping them.
+     */
+    synchronized void setRewindLength(int rewindSeconds) {
+        this.rewindSeconds = rewindSeconds;
+    }
+
+    /**
+     * Make the rewind buffer ready for a new game, making a new one if the old one isn't big enough.
+     */
+    private void prepareRewind() {
+        if (rewindSeconds <= 0) {
+            rewind = null;
+            return;
+        }
+        final int ticks = rewindSeconds * ticksPerSecond;
+        final int keyframes = rewindSeconds + 2; // A keyframe every second, plus one being filled and one spare.
+        // Every delta has room for a brick being destroyed, which is more than usual.
+        final long bytes = (long) keyframes * getStateSize() + (long) ticks * getDeltaSize(1);
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Can't keep " + rewindSeconds + " seconds of this level");
+        }
+        if (rewind == null || rewind.getCapacity() < bytes || rewind.getTickCapacity() != ticks) {
+            rewind = new RewindBuffer(ticks, ticksPerSecond, (int) bytes);
+        }
+        rewind.clear();
+    }
+
+    /**
+     * Go back in time. The game carries on from there, as if what happened since hadn't happened. Only the seconds kept
+     * since {@link #setRewindLength(int)} can be rewound, if it's asked to go back further it goes back as far as it
+     * can. Rewinding ends the replay being recorded.
+     * @param seconds How far back to go.
+     * @return Whether the game was rewound.
+     */
+    synchronized boolean rewind(double seconds) {
+        if (rewind == null || rewind.getTickCount() == 0) {
+            return false;
+        }
+        final long target = Math.max(rewind.getOldestTick(), tick - Math.round(seconds * ticksPerSecond));
+        return rewindTo(target);
+    }
+
+    /**
+     * Put the game back to how it was just after a particular tick, e.g. for a tool stepping through a game. The game
+     * carries on from there.
+     * @param tick The tick to go back to, it must be one of the ones kept (see {@link #setRewindLength(int)}).
+     * @return Whether the game was rewound, false if the tick isn't kept.
+     */
+    synchronized boolean rewindTo(long tick) {
+        if (rewind == null || !rewind.rewindTo(this, tick)) {
+            return false;
+        }
+        notifyChanged();
+        return true;
+    }
+
+    /**
+     * {@return number of updates since the game started}
+     */
+    synchronized long getTick() {
+        return tick;
+    }
+
+    /**
+     * Start recording the game, if replays are being recorded.
+     */
+    private void startRecording() {
+        if (replayFolder != null) {
+            startRecording(replayFolder.resolve("breakout-" + System.currentTimeMillis() + ".replay"));
+        }
+    }
+
+    /**
+     * Start recording the game into a file, until {@link #finishRecording()}. Call this after the game is initialised,
+     * before its first tick.
+     * @param file The file to record into, it's replaced if it already exists.
+     */
+    synchronized void startRecording(Path file) {
+        try {
+            // Only endless levels are random, anything else has a seed of 0.
+            replay = new ReplayWriter(file, this, ticksPerSecond, level.isEndless() ? level.getSeed() : 0);
+        } catch (IOException e) {
+            Debug.error("Model::startRecording: Couldn't record %s: %s", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Record which keys were used in the tick that's just been played.
+     */
+    private void recordTick(int keys) {
+        try {
+            replay.tick(keys, this);
+        } catch (IOException e) {
+            Debug.error("Model::recordTick: Stopped recording: %s", e.getMessage());
+            closeRecording();
+        }
+    }
+
+    /**
+     * Record the end of the game, if it's being recorded.
+     */
+    synchronized void finishRecording() {
+        if (replay == null) {
+            return;
+        }
+        try {
+            replay.finish(this);
+        } catch (IOException e) {
+            Debug.error("Model::finishRecording: %s", e.getMessage());
+        }
+        replay = null;
+    }
+
+    private void closeRecording() {
+        try {
+            replay.close();
+        } catch (IOException e) {
+            Debug.error("Model::closeRecording: %s", e.getMessage());
+        }
+        replay = null;
+    }
+
+    /**
+     * {@return a number made from the whole game state, which is different if anything in the game is different}
+     * Used to check that a replay plays out exactly the same as the game it recorded.
+     */
+    synchronized long checksum() {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, tick);
+        hash = mix(hash, score);
+        hash = mix(hash, lives);
+        hash = mix(hash, paddle.left());
+        hash = mix(hash, paddle.top());
+        hash = mix(hash, balls.size());
+        for (int i = 0; i < balls.size(); i += 1) {
+            final Ball ball = balls.get(i);
+            hash = mix(hash, ball.left());
+            hash = mix(hash, ball.top());
+            hash = mix(hash, ball.getVelocity().getX());
+            hash = mix(hash, ball.getVelocity().getY());
+        }
+        return mix(hash, level.checksum());
+    }
+
+    /**
+     * {@return number of bytes {@link #saveState(ByteBuffer)} needs to save the game as it is now}
+     * It only changes when balls are added or lost.
+     */
+    synchronized int getStateSize() {
+        return STATE_HEADER_SIZE + balls.size() * STATE_BALL_SIZE + level.getVisibleSize();
+    }
+
+    /**
+     * Save the whole game state into a buffer, so the game can be put back exactly as it is now with
+     * {@link #loadState(ByteBuffer)}, e.g. as a checkpoint. Nothing is allocated, and saving a level of 100,000 bricks
+     * takes a few microseconds, so it's fine to do every few seconds while the game is running.
+     * <p>
+     * The format is {@link #STATE_MAGIC}, {@link #STATE_VERSION}, the width and height, then the tick, score, lives,
+     * whether the game has finished, the time scale, the paddle (x, y, x and y at the start of the tick, velocity), the
+     * number of balls and each ball (x, y, x and y at the start of the tick, velocity), the number of bricks and which
+     * are visible (see {@link Level#saveVisible(ByteBuffer)}), with the tick an endless level scrolls next after the
+     * time scale, and the number of rows it's scrolled after the number of bricks. Positions and velocities are ints.
+     * The level's layout isn't saved, a state can only be loaded into a game playing the same level (or an endless
+     * level with the same seed, which can make its rows again from the number scrolled).
+     * @param out The buffer to save into, it needs {@link #getStateSize()} bytes left.
+     * @throws java.nio.BufferOverflowException If there isn't room in the buffer.
+     */
+    synchronized void saveState(ByteBuffer out) {
+        out.putInt(STATE_MAGIC);
+        out.putShort(STATE_VERSION);
+        out.putInt(width);
+        out.putInt(height);
+        saveObjects(out);
+        out.putInt(level.getBrickCount());
+        out.putLong(level.getRowsScrolled());
+        level.saveVisible(out);
+    }
+
+    /**
+     * Put the game back to a state saved by {@link #saveState(ByteBuffer)}. The game must be playing the same level
+     * (or a level with the same layout) as the one that was saved. Nothing is allocated unless the number of balls has
+     * changed. Loading a level of 100,000 bricks takes about a fifth of a millisecond, mostly spent copying which
+     * bricks are visible. Loading a state while the game is being recorded ends the recording, as the replay
+     * couldn't be played back past this point.
+     * @param in The buffer to load from.
+     * @throws IllegalArgumentException If the buffer doesn't hold a whole saved game, or it was saved by a different
+     *                                  version of the game or for a different window or level. The game isn't changed.
+     */
+    synchronized void loadState(ByteBuffer in) {
+        if (in.remaining() < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("Saved game is only " + in.remaining() + " bytes");
+        }
+        if (in.getInt() != STATE_MAGIC) {
+            throw new IllegalArgumentException("Not a saved game");
+        }
+        final short version = in.getShort();
+        if (version != STATE_VERSION) {
+            throw new IllegalArgumentException("Saved game is version " + version + ", expected " + STATE_VERSION);
+        }
+        final int savedWidth = in.getInt();
+        final int savedHeight = in.getInt();
+        if (savedWidth != width || savedHeight != height) {
+            throw new IllegalArgumentException("Saved game is " + savedWidth + "x" + savedHeight + ", expected "
+                    + width + "x" + height);
+        }
+        // Check the level matches before changing anything, the number of bricks comes after the balls.
+        final int ballCount = in.getInt(in.position() + OBJECTS_HEADER_SIZE - Integer.BYTES);
+        // Check there's room for that many balls before working out where the bricks are, so a damaged count can't
+        // overflow the position.
+        if (ballCount < 0 || ballCount > (in.remaining() - OBJECTS_HEADER_SIZE) / STATE_BALL_SIZE) {
+            throw new IllegalArgumentException("Saved game has " + ballCount + " balls, but only "
+                    + in.remaining() + " bytes");
+        }
+        final int bricksAt = in.position() + OBJECTS_HEADER_SIZE + ballCount * STATE_BALL_SIZE;
+        // Check the rest is there too, so loading can't stop part way through.
+        final long size = OBJECTS_HEADER_SIZE + (long) ballCount * STATE_BALL_SIZE + Integer.BYTES + Long.BYTES
+                + level.getVisibleSize();
+        if (in.remaining() < size) {
+            throw new IllegalArgumentException("Saved game has " + in.remaining() + " bytes left for its "
+                    + ballCount + " balls and bricks, expected " + size);
+        }
+        final int brickCount = in.getInt(bricksAt);
+        if (brickCount != level.getBrickCount()) {
+            throw new IllegalArgumentException("Saved game has " + brickCount + " bricks, expected "
+                    + level.getBrickCount());
+        }
+        final long rowsScrolled = in.getLong(bricksAt + Integer.BYTES);
+        if (rowsScrolled < 0 || rowsScrolled != 0 && !level.isEndless()) {
+            throw new IllegalArgumentException("Saved game has scrolled " + rowsScrolled + " rows, expected "
+                    + (level.isEndless() ? "endless level" : "0"));
+        }
+        finishRecording();
+
+        loadObjects(in);
+        in.getInt();  // The number of bricks and rows scrolled, which we've checked.
+        in.getLong();
+        if (level.isEndless()) {
+            level.scrollTo(rowsScrolled);
+        }
+        level.loadVisible(in);
+        publishSnapshot();
+    }
+
+    /**
+     * {@return number of bytes {@link #saveDelta(ByteBuffer, int[], int)} needs to save the last tick}
+     * @param brickChanges Number of changes to the bricks in the tick.
+     */
+    synchronized int getDeltaSize(int brickChanges) {
+        return OBJECTS_HEADER_SIZE + balls.size() * STATE_BALL_SIZE + Integer.BYTES + brickChanges * Integer.BYTES;
+    }
+
+    /**
+     * Save what changed in the last tick into a buffer, so it can be played again on top of the state before it with
+     * {@link #loadDelta(ByteBuffer)}. Everything but the bricks is saved as it is now (it's only a few numbers per
+     * ball), and the bricks are saved as a list of changes, so a delta is much smaller than a whole state.
+     * @param out The buffer to save into, it needs {@link #getDeltaSize(int)} bytes left.
+     * @param brickChanges The changes to the bricks in the tick, in order: the index of each brick destroyed,
+     *                     {@link #LEVEL_RESET} when every brick was made visible again, or {@link #LEVEL_SCROLLED}
+     *                     when an endless level scrolled down a row.
+     * @param count Number of changes in brickChanges.
+     */
+    synchronized void saveDelta(ByteBuffer out, int[] brickChanges, int count) {
+        saveObjects(out);
+        out.putInt(count);
+        for (int i = 0; i < count; i += 1) {
+            out.putInt(brickChanges[i]);
+        }
+    }
+
+    /**
+     * Play a tick saved by {@link #saveDelta(ByteBuffer, int[], int)}, when the game is in the state it was in just
+     * before that tick. Nothing is allocated unless the number of balls changes.
+     * @param in The buffer to load from.
+     */
+    synchronized void loadDelta(ByteBuffer in) {
+        loadObjects(in);
+        final int count = in.getInt();
+        for (int i = 0; i < count; i += 1) {
+            final int change = in.getInt();
+            if (change == LEVEL_RESET) {
+                level.reset();
+            } else if (change == LEVEL_SCROLLED) {
+                level.scroll();
+            } else {
+                level.brickDestroyed(change);
+            }
+        }
+        publishSnapshot();
+    }
+
+    /**
+     * Save everything in the game state except the bricks, see {@link #saveState(ByteBuffer)}.
+     */
+    private void saveObjects(ByteBuffer out) {
+        out.putLong(tick);
+        out.putInt(score);
+        out.putInt(lives);
+        out.put((byte) (gameFinished ? 1 : 0));
+        out.putDouble(loop.getTimeScale());
+        out.putLong(nextScroll);
+
+        out.putInt(paddle.left());
+        out.putInt(paddle.top());
+        out.putInt(paddle.previousLeft());
+        out.putInt(paddle.previousTop());
+        out.putInt(paddle.getVelocity().getX());
+
+        out.putInt(balls.size());
+        for (int i = 0; i < balls.size(); i += 1) {
+            final Ball ball = balls.get(i);
+            out.putInt(ball.left());
+            out.putInt(ball.top());
+            out.putInt(ball.previousLeft());
+            out.putInt(ball.previousTop());
+            out.putInt(ball.getVelocity().getX());
+            out.putInt(ball.getVelocity().getY());
+        }
+    }
+
+    /**
+     * Load everything saved by {@link #saveObjects(ByteBuffer)}, adding or removing balls to match.
+     */
+    private void loadObjects(ByteBuffer in) {
+        tick = in.getLong();
+        score = in.getInt();
+        lives = in.getInt();
+        gameFinished = in.get() != 0;
+        loop.setTimeScale(in.getDouble());
+        nextScroll = in.getLong();
+
+        loadPosition(paddle, in);
+        paddle.getVelocity().setX(in.getInt());
+
+        final int ballCount = in.getInt();
+        while (balls.size() < ballCount) {
+            addBall(0, 0, 0, 0);
+        }
+        while (balls.size() > ballCount) {
+            balls.remove(balls.size() - 1);
+            motions.remove(motions.size() - 1);
+        }
+        ballsChanged = true;
+        for (int i = 0; i < ballCount; i += 1) {
+            final Ball ball = balls.get(i);
+            loadPosition(ball, in);
+            ball.getVelocity().setX(in.getInt());
+            ball.getVelocity().setY(in.getInt());
+        }
+    }
+
+    /**
+     * Read where an object is, and where it was at the start of the tick, from a saved game.
+     */
+    private static void loadPosition(KineticGameObj obj, ByteBuffer in) {
+        final int x = in.getInt();
+        final int y = in.getInt();
+        obj.moveTo(in.getInt(), in.getInt());
+        obj.rememberPosition();
+        obj.moveTo(x, y);
+    }
+
+    /**
+     * Mix a value into a checksum (using the FNV-1a hash's prime).
+     */
+    static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Start the animation thread.
+     */
+    void startGame() {
+        initialiseGame();                       // set the initial game state
+        Thread t = new Thread( this::runGame ); // create a thread running the runGame method
+        t.setDaemon(true);                      // Tell system this thread can die when it finishes
+        gameThread = t;
+        t.start();                              // Start the thread running
+    }
+
+    /**
+     * Initialise the game - reset the score and create the game objects.
+     */
+    void initialiseGame() {
+        Level level = null;
+        if (endlessSeed != 0) {
+            level = Level.endless(width / Level.BRICK_WIDTH, ENDLESS_ROWS, endlessSeed);
+        } else if (levelFile != null) {
+            try {
+                level = LevelFile.read(levelFile);
+            } catch (IOException | IllegalArgumentException e) {
+                Debug.error("Model::initialiseGame: Couldn't read %s, playing the usual level: %s", levelFile,
+                        e.getMessage());
+            }
+        }
+        initialiseGame(level != null ? level : new Level());
+    }
+
+    /**
+     * Play a level from a file (see {@link LevelFile}) in every game from now on, rather than the usual one.
+     * @param levelFile The level file, or null for the usual level.
+     */
+    void setLevelFile(Path levelFile) {
+        this.levelFile = levelFile;
+    }
+
+    /**
+     * Play endless mode in every game from now on: rows of bricks are made up as the game goes on, and every few
+     * seconds they scroll down a row (see {@link Level#endless(int, int, long)}). It takes the place of the level file.
+     * @param seed Decides what the rows look like, the same seed always gives the same game. 0 goes back to playing
+     *             normal levels.
+     */
+    void setEndless(long seed) {
+        endlessSeed = seed;
+    }
+
+    /**
+     * Initialise the game with a particular level, rather than the usual 10x7 grid of bricks.
+     * @param level The level to play. It's reset (every brick made visible) whenever it's cleared.
+     */
+    synchronized void initialiseGame(Level level) {
+        balls.clear();
+        motions.clear();
+        addBall(BALL_START_X, BALL_START_Y, ballSpeed, ballSpeed);
+        if (this.level != null && this.level != level) {
+            this.level.close(); // Stop making rows for the last game, if it was endless.
+        }
+        this.level = level;
+        paddle = new Paddle(paddleSpeed);
+        // Forget keys from the last game, so a key held (or still queued) when it ended doesn't move the new paddle.
+        input.drain((code, time) -> { });
+        leftHeld = false;
+        rightHeld = false;
+        leftPressed = false;
+        rightPressed = false;
+        score = 0;
+        lives = 5;
+        tick = 0;
+        nextScroll = scrollTicks();
+
+        gameFinished = false;
+        paused = false;
+        loop.setTimeScale(1.0);
+        prepareRewind();
+        level.setListener(rewind);
+        if (rewind != null) {
+            rewind.record(this, tick);
+        }
+        publishSnapshot();
+        notifyChanged();
+    }
+
+    /**
+     * The main game loop.
+     */
+    private void runGame() {
+        try {
+            Debug.trace("Model::runGame: Game starting");
+            startRecording();
+            loop.start(System.nanoTime());
+            while (!getGameFinished()) {
+                if (getPaused()) { // Sleep until the game is resumed (or stopped), then carry on from where we were.
+                    while (getPaused() && !getGameFinished()) {
+                        LockSupport.park(this);
+                    }
+                    loop.resume(System.nanoTime());
+                    continue;
+                }
+                // Run as many updates as the time that's passed calls for (usually one).
+                final int ticks = loop.advance(System.nanoTime());
+                if (ticks > 1) { // We've fallen behind, e.g. the thread was held up.
+                    // Catching up isn't an overrun: that's only when we're so far behind the GameLoop drops ticks.
+                    Debug.trace("Model::runGame: Catching up %d ticks", ticks);
+                    Metrics.TICKS_CAUGHT_UP.add(ticks - 1);
+                }
+                // Stop catching up as soon as the game is paused, the View won't draw any ticks run after that.
+                for (int tick = 0; tick < ticks && !getGameFinished() && !getPaused(); tick += 1) {
+                    // Measure how long we wait for the Controller to finish with the Model before updating it.
+                    final long waitStart = System.nanoTime();
+                    synchronized (this) {
+                        Metrics.LOCK_WAIT.record(System.nanoTime() - waitStart);
+                        updateGame(); // Update the game state
+                    }
+                }
+                // Wait until the next update is due.
+                LockSupport.parkNanos(loop.nanosUntilNextTick(System.nanoTime()));
+            }
+            finishRecording();
+            Debug.trace("Model::runGame: Game finished"); 
+        } catch (Exception e) {
+            Debug.error("Model::runAsSeparateThread error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the game - this is called {@link #TICKS_PER_SECOND} times per second to give the impression of movement.
+     * Call {@link #initialiseGame()} before the first update.
+     * Once the game has started, updating doesn't create any objects, so it never leaves anything for the garbage
+     * collector to clean up (unless balls are added).
+     */
+    synchronized void updateGame() {
+        final long start = System.nanoTime();
+        final GameEvents.Tick event = GameEvents.tickStarted();
+
+        // Catch up with the keys pressed and released since the last tick.
+        tickStart = start;
+        leftPressed = false;
+        rightPressed = false;
+        input.drain(inputHandler);
+
+        // Remember where things were, so the View can draw them moving smoothly between updates.
+        paddle.rememberPosition();
+        for (int i = 0; i < balls.size(); i += 1) {
+            balls.get(i).rememberPosition();
+        }
+
+        // Only balls that could reach the paddle's row this update need checking against the paddle.
+        nearby.update(balls, ballsChanged);
+        ballsChanged = false;
+        nearPaddle.clear();
+        nearby.findOverlapping(paddle.top(), paddle.bottom(), nearPaddle);
+        ballsNearPaddle.clear();
+        for (int i = nearPaddle.nextSetBit(0); i >= 0; i = nearPaddle.nextSetBit(i + 1)) {
+            ballsNearPaddle.add(balls.get(i));
+        }
+
+        // Move the paddle in the direction being held. A key tapped since the last tick moves it too, even though it's
+        // not held any more, so a quick tap is never missed. The autopilot, if it's on, decides instead.
+        boolean left = leftHeld || leftPressed;
+        boolean right = rightHeld || rightPressed;
+        if (autopilot != null) {
+            final int direction = autopilot.steer(balls, paddle, width, MENU_HEIGHT);
+            left = direction < 0;
+            right = direction > 0;
+        }
+        paddle.movePaddle(left, right, width, ballsNearPaddle);
+
+        // Move the balls one step (each ball knows which direction it's moving in).
+        final int collisions = moveBalls();
+        if (level.isEndless() && tick >= nextScroll) {
+            scrollLevel();
+        }
+
+        tick += 1;
+        publishSnapshot();
+        if (lives <= 0) {
+            // Only end the game now the final state has been published, so once the View sees the game has finished,
+            // the latest snapshot is the one to draw.
+            setGameFinished();
+        }
+        if (replay != null) {
+            recordTick((left ? ReplayWriter.LEFT_BIT : 0) | (right ? ReplayWriter.RIGHT_BIT : 0)
+                    | (fastToggled ? ReplayWriter.FAST_BIT : 0));
+        }
+        fastToggled = false;
+        if (rewind != null) {
+            rewind.record(this, tick);
+        }
+        Metrics.TICK_TIME.record(System.nanoTime() - start);
+        GameEvents.tickFinished(event, tick, balls.size(), level.getVisibleBrickCount(), collisions);
+    }
+
+    /**
+     * Move every ball one step, bouncing off anything they hit along the way.
+     * First every ball plans its move without destroying any bricks (on several threads if there are lots of balls),
+     * then the plans are committed one ball at a time, in order. A ball whose plan hit a brick that an earlier ball
+     * has already destroyed (or that was planned before the level was reset) moves again instead.
+     * @return Number of collisions the balls bounced off.
+     */
+    private int moveBalls() {
+        final int count = balls.size();
+        if (parallel && count >= PARALLEL_BALLS) {
+            ForkJoinPool.commonPool().invoke(new PlanBalls(0, count));
+        } else {
+            planBalls(0, count);
+        }
+
+        int bricksHit = 0;
+        int collisions = 0;
+        boolean levelReset = false; // Whether plans made before now were made against bricks that have come back.
+        lostBalls.clear();
+        int ballsLeft = count;
+        for (int i = 0; i < count; i += 1) {
+            final Ball ball = balls.get(i);
+            final BallMotion motion = motions.get(i);
+            final boolean replayed = levelReset || !motion.canCommit(level);
+            if (replayed) {
+                motion.replay(ball, level, nearPaddle.get(i) ? paddle : null, width, height, MENU_HEIGHT);
+            } else {
+                motion.commit(level);
+            }
+            addToScore(HIT_BRICK * motion.getBricksHit()); // Award points for breaking bricks.
+            bricksHit += motion.getBricksHit();
+            collisions += motion.getContacts();
+            if (motion.getContacts() > 0) {
+                GameEvents.collisionResolved(i, motion.getContacts(), motion.getBricksHit(), replayed);
+            }
+
+            if (motion.getClearedLevel()) { // All bricks have been destroyed.
+                ball.reset(BALL_START_X, BALL_START_Y);
+                if (level.isEndless()) { // Bring in a whole screen of new rows instead.
+                    for (int row = 0; row < level.getRows(); row += 1) {
+                        level.scroll();
+                    }
+                    nextScroll = tick + scrollTicks();
+                } else {
+                    level.reset();
+                }
+                levelReset = true;
+                GameEvents.levelRegenerated(tick, level.getVisibleBrickCount());
+            } else if (motion.getHitBottom()) {
+                if (ballsLeft > 1) { // Other balls are still in play, so just lose this one.
+                    lostBalls.set(i);
+                    ballsLeft -= 1;
+                } else {
+                    lives -= 1;      // Remove a life from the counter.
+                    GameEvents.lifeLost(tick, lives);
+                    if (lives > 0) { // Spawn another ball if the player hasn't run out of lives.
+                        ball.reset(BALL_START_X, BALL_START_Y);
+                    } // Otherwise the game ends once this tick has been published, see updateGame().
+                }
+            }
+        }
+        removeLostBalls();
+        Metrics.bricksDestroyed(bricksHit, System.nanoTime());
+        return collisions;
+    }
+
+    /**
+     * Scroll an endless level down a row, unless a ball is among the bricks or just below them (where the bottom row
+     * would move onto it), in which case try again next tick.
+     */
+    private void scrollLevel() {
+        final int top = level.getOriginY();
+        final int bottom = top + (level.getRows() + 1) * level.getBrickHeight();
+        final int right = level.getOriginX() + level.getColumns() * level.getBrickWidth();
+        for (int i = 0; i < balls.size(); i += 1) {
+            if (balls.get(i).hit(level.getOriginX(), top, right, bottom)) {
+                return;
+            }
+        }
+        level.scroll();
+        nextScroll = tick + scrollTicks();
+    }
+
+    /**
+     * {@return number of ticks between an endless level scrolling down a row}
+     */
+    private int scrollTicks() {
+        return SCROLL_SECONDS * ticksPerSecond;
+    }
+
+    /**
+     * Plan the moves of a range of balls, see {@link BallMotion#plan}.
+     * @param from Index of the first ball to move (inclusive).
+     * @param to Index of the last ball to move (exclusive).
+     */
+    private void planBalls(int from, int to) {
+        for (int i = from; i < to; i += 1) {
+            motions.get(i).plan(balls.get(i), level, nearPaddle.get(i) ? paddle : null, width, height, MENU_HEIGHT);
+        }
+    }
+
+    /**
+     * Plans the moves of a range of balls, splitting the range in half (to run on other threads) until it's small.
+     * Planning only reads the level and paddle, and each ball only changes itself and its own {@link BallMotion}.
+     * (RecursiveAction is Serializable, but these are never saved, so there's no serialVersionUID.)
+     */
+    @SuppressWarnings("serial")
+    private class PlanBalls extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        PlanBalls(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BALLS_PER_TASK) {
+                planBalls(from, to);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new PlanBalls(from, middle), new PlanBalls(middle, to));
+            }
+        }
+    }
+
+    /**
+     * Take the balls that fell off the bottom out of play, keeping the others in the same order.
+     */
+    private void removeLostBalls() {
+        if (lostBalls.isEmpty()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < balls.size(); i += 1) {
+            if (!lostBalls.get(i)) {
+                balls.set(kept, balls.get(i));
+                motions.set(kept, motions.get(i));
+                kept += 1;
+            }
+        }
+        while (balls.size() > kept) {
+            balls.remove(balls.size() - 1);
+            motions.remove(motions.size() - 1);
+        }
+        ballsChanged = true;
+    }
+
+    /**
+     * Put another ball into play.
+     * @param x X coordinate of the ball's left side.
+     * @param y Y coordinate of the ball's top side.
+     * @param velocityX Distance the ball moves right (or left if negative) each update.
+     * @param velocityY Distance the ball moves down (or up if negative) each update.
+     */
+    synchronized void addBall(int x, int y, int velocityX, int velocityY) {
+        final Ball ball = new Ball(new Vector2(x, y), ballSpeed);
+        ball.getVelocity().setX(velocityX);
+        ball.getVelocity().setY(velocityY);
+        balls.add(ball);
+        motions.add(new BallMotion());
+        ballsChanged = true;
+    }
+
+    /**
+     * Choose whether lots of balls can be moved on several threads at once. It's on by default, and the game plays out
+     * exactly the same either way.
+     * @param parallel Whether to use several threads.
+     */
+    synchronized void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Copy the game state into a snapshot and hand it over to the View.
+     */
+    private void publishSnapshot() {
+        snapshots.writable().capture(tick, balls, paddle, level, score, lives);
+        snapshots.publish();
+    }
+
+    /**
+     * {@return the most recently published copy of the game state}
+     * This doesn't lock the Model, but it must only be called from one thread (the JavaFX thread), see
+     * {@link SnapshotBuffer}.
+     */
+    GameSnapshot getSnapshot() {
+        return snapshots.latest();
+    }
+
+
+    // Methods for accessing and updating values
+    // these are all synchronized (or use volatile variables) so that they can be
+    // called by the main thread or the animation thread safely
+
+    /**
+     * Change the game to the finished state. It waits for any tick in progress to finish, so the last tick's snapshot
+     * is always published before the game is seen to have finished.
+     */
+    synchronized void setGameFinished() {
+        gameFinished = true;
+        wakeGameThread(); // In case it's paused.
+        notifyChanged();
+    }
+
+    /**
+     * {@return whether the game has finished}
+     */
+    boolean getGameFinished() {
+        return gameFinished;
+    }
+
+    /**
+     * Pauses the game if it's running, and resumes it if it's paused. While it's paused the game thread sleeps, so it
+     * doesn't use any CPU.
+     */
+    synchronized void togglePaused() {
+        paused = !paused;
+        wakeGameThread();
+        notifyChanged();
+    }
+
+    /**
+     * {@return whether the game is paused}
+     */
+    boolean getPaused() {
+        return paused;
+    }
+
+    /**
+     * {@return whether the game is updating, i.e. it's neither paused nor finished}
+     */
+    boolean isRunning() {
+        return !paused && !gameFinished;
+    }
+
+    /**
+     * Wake the game thread up if it's sleeping while paused, so it can check whether it should carry on.
+     */
+    private void wakeGameThread() {
+        final Thread thread = gameThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Set something to be told whenever the game starts, is paused, is resumed or finishes, e.g. so the View can start
+     * drawing again. It's called on whichever thread made the change.
+     * @param changeListener What to run, or null for nothing.
+     */
+    void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void notifyChanged() {
+        final Runnable listener = changeListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Toggles fast game speed, turns fast mode on if it's off and off if it's on.
+     */
+    synchronized void toggleFast() {
+        loop.setTimeScale(loop.getTimeScale() == 1.0 ? FAST_TIME_SCALE : 1.0);
+        fastToggled = !fastToggled; // Toggling twice between ticks does nothing.
+    }
+
+    /**
+     * Let an autopilot move the paddle instead of the keys, or give control back to the keys. The keys it would have
+     * pressed are recorded in replays, so they play back without it.
+     * @param autopilot The autopilot, or null for the keys.
+     */
+    synchronized void setAutopilot(Autopilot autopilot) {
+        this.autopilot = autopilot;
+    }
+
+    /**
+     * Turn the autopilot on or off, see {@link #setAutopilot(Autopilot)}.
+     */
+    synchronized void toggleAutopilot() {
+        autopilot = autopilot == null ? new Autopilot() : null;
+    }
+
+    /**
+     * {@return whether the autopilot is moving the paddle}
+     */
+    synchronized boolean getAutopilot() {
+        return autopilot != null;
+    }
+
+    /**
+     * {@return game speed - how fast game time passes compared to real time, 1.0 is normal speed}
+     */
+    double getTimeScale() {
+        return loop.getTimeScale();
+    }
+
+    /**
+     * Change the game speed.
+     * @param timeScale How fast game time should pass compared to real time, e.g. 0.5 is half speed.
+     */
+    void setTimeScale(double timeScale) {
+        loop.setTimeScale(timeScale);
+    }
+
+    /**
+     * {@return how far (from 0.0 to 1.0) we are between the last update and the next one, see GameLoop#alpha(long)}
+     */
+    double getInterpolationAlpha() {
+        return loop.alpha(System.nanoTime());
+    }
+
+    // Setters and getters for the left and right keys. The setters don't lock the Model, they queue the key press to
+    // be dealt with at the start of the next tick, so they must only be called from one thread (usually the JavaFX
+    // thread). The getters say which keys were held as of the last tick.
+
+    void setLeftHeld(boolean leftHeld) {
+        offerInput(leftHeld ? LEFT_PRESSED : LEFT_RELEASED);
+    }
+    synchronized boolean getLeftHeld() {
+        return leftHeld;
+    }
+    void setRightHeld(boolean value) {
+        offerInput(value ? RIGHT_PRESSED : RIGHT_RELEASED);
+    }
+    synchronized boolean getRightHeld() {
+        return rightHeld;
+    }
+
+    /**
+     * Queue an input for the game thread, stamped with the time.
+     */
+    private void offerInput(int code) {
+        if (!input.offer(code, System.nanoTime())) { // The game thread hasn't taken any inputs for a long time.
+            Metrics.INPUT_DROPPED.increment();
+            Debug.trace("Model::offerInput: Input queue full, input %d dropped", code);
+        }
+    }
+
+    /**
+     * Apply an input taken from the queue at the start of a tick.
+     * @param code Which key was pressed or released.
+     * @param time When it happened.
+     */
+    private void handleInput(int code, long time) {
+        Metrics.INPUT_LATENCY.record(tickStart - time);
+        switch (code) {
+            case LEFT_PRESSED -> {
+                leftHeld = true;
+                leftPressed = true;
+            }
+            case LEFT_RELEASED -> leftHeld = false;
+            case RIGHT_PRESSED -> {
+                rightHeld = true;
+                rightPressed = true;
+            }
+            case RIGHT_RELEASED -> rightHeld = false;
+        }
+    }
+
+    // Return paddle object
+    synchronized KineticGameObj getPaddle() {
+        return paddle;
+    }
+    
+    // return the first ball
+    synchronized KineticGameObj getBall() {
+        return balls.get(0);
+    }
+
+    // return every ball in play
+    synchronized List<Ball> getBalls() {
+        return balls;
+    }
+    
+    // return bricks
+    synchronized Level getLevel() {
+        return level;
+    }
+    
+    // return score
+    synchronized int getScore() {
+        return score;
+    }
+
+    /**
+     * Add points to the player's score.
+     * @param points Number of points to add.
+     */
+    private synchronized void addToScore(int points) {
+        score += points;
+    }
+
+    /**
+     * {@return number of lives the player has left}
+     */
+    synchronized int getLives() {
+        return lives;
+    }
+}   
+    
\ No newline at end of file
@@ -0,0 +1,85 @@
+package breakout;
+
+import java.util.List;
+
+/**
+ * Controlled by the player to prevent the {@link Ball}s from reaching the bottom of the screen.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Paddle extends KineticGameObj {
+    // Set the default position, width and height of the paddle.
+    private static final int START_X = 150;
+    private static final int START_Y = 355;
+    private static final Vector2 SIZE = new Vector2(50, 8);
+
+    static final int SPEED = 5; // Distance to move paddle on each step (at 60 ticks per second)
+
+    private final int speed;
+
+    Paddle() {
+        this(SPEED);
+    }
+
+    /**
+     * Create a paddle which moves at a different speed to usual.
+     * @param speed Distance to move the paddle on each step.
+     */
+    Paddle(int speed) {
+        super(new Vector2(START_X, START_Y), SIZE);
+        this.speed = speed;
+        setVelocity(new Vector2(0, 0));
+    }
+
+    /**
+     * {@return distance the paddle moves on each step}
+     */
+    int getSpeed() {
+        return speed;
+    }
+
+    /** Move the paddle one step in the direction held.
+     * The paddle won't move if both left and right are being held down at the same time.
+     * @param leftHeld Whether the left arrow is being held.
+     * @param rightHeld Whether the right arrow is being held.
+     * @param screenWidth Width of the screen so the paddle knows how far it's allowed to go.
+     * @param balls Balls near the paddle, so we don't move the paddle inside of them.
+     */
+    void movePaddle(boolean leftHeld, boolean rightHeld, int screenWidth, List<Ball> balls) {
+        if (leftHeld && !rightHeld) {
+            step(-speed, screenWidth, balls);
+        }
+        if (rightHeld && !leftHeld) {
+            step(speed, screenWidth, balls);
+        }
+    }
+
+    /** Move the paddle one step, unless that would move it inside a ball.
+     * @param speed Distance to move right (or left if negative).
+     * @param screenWidth Width of the screen so the paddle knows how far it's allowed to go.
+     * @param balls Balls near the paddle, so we don't move the paddle inside of them.
+     */
+    private void step(int speed, int screenWidth, List<Ball> balls) {
+        getVelocity().setX(speed);
+        move();
+        Debug.trace("Paddle::move: Move paddle = %d", getVelocity().getX());
+        // Ensure the paddle doesn't move inside a ball.
+        for (int i = 0; i < balls.size(); i += 1) {
+            if (hit(balls.get(i))) {
+                changeDirectionX();
+                move();
+                break;
+            }
+        }
+        clampOnScreen(screenWidth);
+    }
+
+    /** Keep the paddle within the confines of the screen.
+     * @param screenWidth Furthest to the right we'll allow the paddle to go.
+     */
+    private void clampOnScreen(int screenWidth) {
+        final int clampedX = Math.clamp(left(), 0, screenWidth - width());
+        final int difference = clampedX - left();
+        translateX(difference);
+    }
+}
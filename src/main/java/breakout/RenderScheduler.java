@@ -0,0 +1,77 @@
+package breakout;
+
+/**
+ * Decides whether the {@link View} needs to draw a frame, so it only draws when something on screen would change.
+ * The game publishes a new snapshot every tick, and while it's running the View also draws the balls and paddle part
+ * way between ticks, so a frame is needed when there's a new tick (however many ticks have run since the last frame,
+ * only the latest is drawn) or the balls and paddle have moved along. When the game is paused or over, nothing moves,
+ * so once the last state has been drawn the View can stop drawing until it's woken up again.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class RenderScheduler {
+    private long drawnTick = -1;     // Tick of the snapshot that was drawn last.
+    private double drawnAlpha = -1;  // How far between ticks it was drawn.
+    private boolean invalid = true;  // Whether the next frame must be drawn whatever happens, e.g. after a resize.
+
+    private long framesDrawn;
+    private long framesSkipped;
+
+    /**
+     * Make sure the next frame is drawn, e.g. because the window was resized or a new game has started.
+     */
+    void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Work out whether a frame needs drawing.
+     * @param tick Tick of the latest snapshot, see {@link GameSnapshot#getTick()}.
+     * @param alpha How far between ticks to draw the balls and paddle, see {@link GameLoop#alpha(long)}.
+     * @return Whether to draw the frame. If so, call {@link #drawn(long, double)} once it has been drawn.
+     */
+    boolean shouldDraw(long tick, double alpha) {
+        if (invalid || tick != drawnTick || alpha != drawnAlpha) {
+            return true;
+        }
+        framesSkipped += 1;
+        return false;
+    }
+
+    /**
+     * Remember what was drawn, to compare the next frame against.
+     * @param tick Tick of the snapshot that was drawn.
+     * @param alpha How far between ticks the balls and paddle were drawn.
+     */
+    void drawn(long tick, double alpha) {
+        drawnTick = tick;
+        drawnAlpha = alpha;
+        invalid = false;
+        framesDrawn += 1;
+    }
+
+    /**
+     * {@return whether nothing will change on screen until the game is started or resumed, so the View can stop
+     * drawing altogether}
+     * @param running Whether the game is running (not paused or over). Check this before getting the snapshot, so a
+     *                stopped game's snapshot is always its final state.
+     * @param tick Tick of the latest snapshot.
+     */
+    boolean isIdle(boolean running, long tick) {
+        return !running && !invalid && tick == drawnTick;
+    }
+
+    /**
+     * {@return number of frames drawn}
+     */
+    long getFramesDrawn() {
+        return framesDrawn;
+    }
+
+    /**
+     * {@return number of frames skipped because nothing had changed}
+     */
+    long getFramesSkipped() {
+        return framesSkipped;
+    }
+}
@@ -0,0 +1,171 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays back games recorded by {@link ReplayWriter}, without a GUI and as fast as possible, checking that they play out
+ * exactly as they did when they were recorded. An hour of play takes a fraction of a second to play back, so this is a
+ * quick way to reproduce a bug that happened in a game, or to check a change hasn't made the game play differently.
+ * <p>
+ * Run it with {@code ./gradlew runReplay --args="<replay files...>"}. It prints how each game ended, or where it went
+ * out of step with the recording. Replays of a level file (see {@link LevelFile}) need {@code --level <file>} before
+ * them, as the replay only records a hash of the level, to check it's the same one.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+public class ReplayPlayer {
+    /**
+     * How a replay ended.
+     */
+    static final class Result {
+        final long ticks;     // Number of updates played.
+        final int score;      // Final score.
+        final int checksums;  // Number of checksums that matched.
+
+        Result(long ticks, int score, int checksums) {
+            this.ticks = ticks;
+            this.score = score;
+            this.checksums = checksums;
+        }
+    }
+
+    /**
+     * Play back every replay file given, one after the other.
+     * @param args The replay files, each optionally after {@code --level <file>} for the level it was played on.
+     */
+    public static void main(String[] args) throws IOException {
+        Debug.set(false); // Printing from every tick would be far slower than the game itself.
+        Path levelFile = null;
+        for (int i = 0; i < args.length; i += 1) {
+            if (args[i].equals("--level") && i + 1 < args.length) {
+                i += 1;
+                levelFile = Path.of(args[i]);
+                continue;
+            }
+            final String file = args[i];
+            final long start = System.nanoTime();
+            try {
+                final Result result = play(Path.of(file), levelFile);
+                final double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%s: %d ticks (%.0f ticks/s), score %d, %d checksums matched%n", file,
+                        result.ticks, result.ticks / seconds, result.score, result.checksums);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                System.out.printf("%s: %s%n", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Play back a replay of the usual level (or an endless game), checking every checksum in it.
+     * @param file The replay file.
+     * @return How the game ended.
+     * @throws IllegalStateException If the game didn't play out the same as when it was recorded.
+     * @throws IllegalArgumentException If the file isn't a replay, it's from a different version of the game, or it
+     *                                  was played on a different level.
+     */
+    static Result play(Path file) throws IOException {
+        return play(file, null);
+    }
+
+    /**
+     * Play back a replay, checking every checksum in it.
+     * @param file The replay file.
+     * @param levelFile The level file the game was played on, or null for the usual level.
+     * @return How the game ended.
+     * @throws IllegalStateException If the game didn't play out the same as when it was recorded.
+     * @throws IllegalArgumentException If the file isn't a replay, it's from a different version of the game, or it
+     *                                  was played on a different level.
+     */
+    static Result play(Path file, Path levelFile) throws IOException {
+        final ByteBuffer replay;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Mapping the file lets us read it straight from the operating system's cache, without copying it first.
+            replay = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (replay.getInt() != ReplayWriter.MAGIC) {
+            throw new IllegalArgumentException(file + " isn't a replay");
+        }
+        final short version = replay.getShort();
+        if (version != ReplayWriter.VERSION) {
+            throw new IllegalArgumentException(file + " is version " + version + ", expected " + ReplayWriter.VERSION);
+        }
+        final int width = replay.getInt();
+        final int height = replay.getInt();
+        final int ticksPerSecond = replay.getInt();
+        final long seed = replay.getLong(); // Only endless games are random, anything else has a seed of 0.
+        final int brickCount = replay.getInt();
+        final long layoutHash = replay.getLong();
+
+        final Model model = new Model(width, height, ticksPerSecond);
+        model.setEndless(seed);
+        model.setLevelFile(levelFile);
+        try {
+            return play(replay, model, brickCount, layoutHash);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(file + " ends before the game does, it may not have been finished");
+        } finally {
+            if (model.getLevel() != null) {
+                model.getLevel().close(); // Stop making rows if it was an endless game.
+            }
+        }
+    }
+
+    /**
+     * Play the ticks in a replay, after its header.
+     */
+    private static Result play(ByteBuffer replay, Model model, int brickCount, long layoutHash) {
+        model.initialiseGame();
+        final Level level = model.getLevel();
+        if (level.getBrickCount() != brickCount || level.layoutHash() != layoutHash) {
+            throw new IllegalArgumentException(String.format("The replay was recorded on a different level (%d bricks,"
+                    + " layout %016x) to the one being played (%d bricks, layout %016x), use --level to pick it",
+                    brickCount, layoutHash, level.getBrickCount(), level.layoutHash()));
+        }
+        verify(model, replay.getLong(), 0);
+
+        long ticks = 0;
+        int checksums = 1; // The one before the first tick.
+        while (true) {
+            final int keys = replay.get();
+            if ((keys & ReplayWriter.STOP_BIT) != 0) {
+                final long recordedTicks = replay.getLong();
+                if (recordedTicks != ticks) {
+                    throw new IllegalStateException("Recording has " + recordedTicks + " ticks, but played " + ticks);
+                }
+                verify(model, replay.getLong(), ticks);
+                return new Result(ticks, model.getScore(), checksums + 1);
+            }
+
+            // Hold the keys that were held when the tick was recorded, then play it.
+            if ((keys & ReplayWriter.FAST_BIT) != 0) {
+                model.toggleFast();
+            }
+            model.setLeftHeld((keys & ReplayWriter.LEFT_BIT) != 0);
+            model.setRightHeld((keys & ReplayWriter.RIGHT_BIT) != 0);
+            model.updateGame();
+            ticks += 1;
+
+            if (ticks % ReplayWriter.CHECKSUM_INTERVAL == 0) {
+                verify(model, replay.getLong(), ticks);
+                checksums += 1;
+            }
+        }
+    }
+
+    /**
+     * Check the game is in the same state as when it was recorded.
+     */
+    private static void verify(Model model, long recorded, long tick) {
+        final long actual = model.checksum();
+        if (actual != recorded) {
+            throw new IllegalStateException(String.format(
+                    "Went out of step at tick %d: checksum %016x, recorded %016x", tick, actual, recorded));
+        }
+    }
+}
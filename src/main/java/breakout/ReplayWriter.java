@@ -0,0 +1,118 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a game as it's played, so it can be played back exactly with {@link ReplayPlayer}.
+ * The game always plays out the same way given the same keys, so rather than recording what happens, only the keys
+ * are recorded: one byte per tick saying which were held. Every so often a checksum of the whole game state is
+ * recorded too, so playing back can check it's still in step (if it isn't, something in the game isn't
+ * deterministic). An hour of play takes about 200 KB.
+ * <p>
+ * The file starts with a header: {@link #MAGIC}, {@link #VERSION}, the window's width and height, ticks per second, the
+ * seed, the number of bricks, a hash of the level's layout (see {@link Level#layoutHash()}), and a checksum of the
+ * game before it starts. Then there's one byte per tick made of the {@code *_BIT} flags. Every
+ * {@link #CHECKSUM_INTERVAL} ticks the byte is followed by a checksum of the game state after that tick (see
+ * {@link Model#checksum()}). The last byte has {@link #STOP_BIT} set and is followed by the number of ticks played and
+ * a final checksum.
+ * Bytes are collected in a buffer and written to the file in large blocks, so recording a tick doesn't usually touch
+ * the file at all and never allocates anything.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class ReplayWriter implements AutoCloseable {
+    static final int MAGIC = 0x424b5250; // "BKRP", so we can tell the file is a replay.
+    static final short VERSION = 2;      // Goes up whenever the format changes.
+    static final int CHECKSUM_INTERVAL = 60; // Ticks between checksums, one per second of play.
+
+    // Flags in each tick's byte.
+    static final int LEFT_BIT = 1;  // The paddle moved left this tick.
+    static final int RIGHT_BIT = 2; // The paddle moved right this tick.
+    static final int FAST_BIT = 4;  // Fast mode was toggled before this tick.
+    static final int STOP_BIT = 8;  // The game ended, this is the end of the recording.
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long ticks;
+
+    /**
+     * Start recording a game. Call this just after the game has been initialised, before its first tick.
+     * @param file File to record into, it's replaced if it already exists.
+     * @param model The game being recorded.
+     * @param ticksPerSecond Number of times the game updates per second.
+     * @param seed Seed the game was started with.
+     */
+    ReplayWriter(Path file, Model model, int ticksPerSecond, long seed) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(model.width);
+        buffer.putInt(model.height);
+        buffer.putInt(ticksPerSecond);
+        buffer.putLong(seed);
+        buffer.putInt(model.getLevel().getBrickCount());
+        buffer.putLong(model.getLevel().layoutHash());
+        buffer.putLong(model.checksum()); // The state before the first tick.
+    }
+
+    /**
+     * Record one tick, after it's been played.
+     * @param keys Which keys were used this tick, made of the {@code *_BIT} flags.
+     * @param model The game, to make a checksum of every so often.
+     */
+    void tick(int keys, Model model) throws IOException {
+        makeRoom(Byte.BYTES + Long.BYTES);
+        buffer.put((byte) keys);
+        ticks += 1;
+        if (ticks % CHECKSUM_INTERVAL == 0) {
+            buffer.putLong(model.checksum());
+        }
+    }
+
+    /**
+     * Record the end of the game and close the file.
+     * @param model The game, for the final checksum.
+     */
+    void finish(Model model) throws IOException {
+        makeRoom(Byte.BYTES + 2 * Long.BYTES);
+        buffer.put((byte) STOP_BIT);
+        buffer.putLong(ticks);
+        buffer.putLong(model.checksum());
+        close();
+    }
+
+    /**
+     * Close the file without finishing the recording, e.g. if something went wrong.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            write();
+            channel.close();
+        }
+    }
+
+    /**
+     * Write the buffer to the file if there isn't room in it for some more bytes.
+     */
+    private void makeRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            write();
+        }
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
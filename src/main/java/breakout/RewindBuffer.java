@@ -0,0 +1,264 @@
+package breakout;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Keeps the last few seconds of a game, so it can be rewound to any tick in them, see {@link Model#rewind(double)}.
+ * <p>
+ * Every tick is saved into one big ring buffer, allocated once outside the Java heap. Most ticks are saved as a small
+ * delta (the paddle, the balls, the score and the bricks destroyed or scrolled, see {@link Model#saveDelta}), and every
+ * {@code keyframeInterval} ticks the whole game state is saved as a keyframe (see {@link Model#saveState}). To go back
+ * to a tick, the keyframe before it is loaded and then the deltas after the keyframe are played on top of it, so
+ * rewinding never has to play more than {@code keyframeInterval - 1} deltas.
+ * When the buffer is full, the oldest keyframe and its deltas are forgotten to make room, so the memory used never
+ * changes and recording a tick never allocates anything.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class RewindBuffer implements Level.Listener {
+    private static final int MAX_BRICK_CHANGES = 1024; // Most brick changes in a delta, more makes it a keyframe.
+
+    private final ByteBuffer data;   // The saved ticks, back to back (see head and tail).
+    private final ByteBuffer reader; // Reads from data, so reading doesn't move data's position.
+    private final int capacity;
+    private final int keyframeInterval;
+
+    // Where each tick is saved, indexed by tick modulo the number of ticks that can be held.
+    private final long[] offsets;       // Position of each tick in data, counting from the start of recording.
+    private final int[] sizes;          // Bytes used by each tick.
+    private final boolean[] keyframes;  // Whether each tick is a keyframe (or a delta).
+    private long oldest;                // The oldest tick held, always a keyframe.
+    private long newest;                // The newest tick held.
+    private int count;                  // Number of ticks held.
+    private long tail;                  // Position of the oldest tick in data (modulo capacity).
+    private long head;                  // Position the next tick will be saved at (modulo capacity).
+
+    // Changes to the bricks since the last tick was saved, collected as the Level tells us about them.
+    private final int[] brickChanges = new int[MAX_BRICK_CHANGES];
+    private int brickChangeCount;
+    private boolean tooManyBrickChanges;
+    private boolean restoring; // Whether we're rewinding, so the Level's changes aren't new ones.
+
+    /**
+     * Create a buffer and allocate all the memory it will ever use.
+     * @param ticks Most ticks to hold.
+     * @param keyframeInterval Save a keyframe every this many ticks. Fewer makes rewinding quicker but holds fewer
+     *                         ticks in the same memory.
+     * @param capacity Bytes to keep the ticks in. If it fills up before {@code ticks} ticks are held, the oldest are
+     *                 forgotten early.
+     */
+    RewindBuffer(int ticks, int keyframeInterval, int capacity) {
+        if (ticks <= 0 || keyframeInterval <= 0 || keyframeInterval > ticks) {
+            throw new IllegalArgumentException("Can't hold " + ticks + " ticks with a keyframe every "
+                    + keyframeInterval);
+        }
+        data = ByteBuffer.allocateDirect(capacity);
+        reader = data.duplicate();
+        this.capacity = capacity;
+        this.keyframeInterval = keyframeInterval;
+        offsets = new long[ticks];
+        sizes = new int[ticks];
+        keyframes = new boolean[ticks];
+    }
+
+    /**
+     * Forget every tick held, e.g. because a new game has started.
+     */
+    void clear() {
+        count = 0;
+        head = 0;
+        tail = 0;
+        brickChangeCount = 0;
+        tooManyBrickChanges = false;
+    }
+
+    /**
+     * Save a tick, just after it's been played. If it doesn't follow the last tick saved (e.g. the game was restarted),
+     * everything held is forgotten first.
+     * @param model The game.
+     * @param tick The tick just played, see {@link Model#getTick()}.
+     */
+    void record(Model model, long tick) {
+        if (count > 0 && tick != newest + 1) {
+            clear();
+        }
+        boolean keyframe = count == 0 || tick % keyframeInterval == 0 || tooManyBrickChanges;
+        int size = keyframe ? model.getStateSize() : model.getDeltaSize(brickChangeCount);
+        while (count > 0 && !hasRoom(size)) {
+            forgetOldest();
+            if (count == 0 && !keyframe) { // The delta's keyframe has gone, so this tick has to be one instead.
+                keyframe = true;
+                size = model.getStateSize();
+            }
+        }
+        final int changes = brickChangeCount;
+        brickChangeCount = 0;
+        tooManyBrickChanges = false;
+        if (!hasRoom(size)) { // Even an empty buffer is too small, e.g. lots of balls have been added.
+            Debug.trace("RewindBuffer::record: Tick %d needs %d bytes, more than the whole buffer", tick, size);
+            return;
+        }
+
+        head += padding(size);
+        final int position = (int) (head % capacity);
+        data.clear().position(position);
+        if (keyframe) {
+            model.saveState(data);
+        } else {
+            model.saveDelta(data, brickChanges, changes);
+        }
+        final int slot = slot(tick);
+        offsets[slot] = head;
+        sizes[slot] = size;
+        keyframes[slot] = keyframe;
+        head += size;
+        if (count == 0) {
+            oldest = tick;
+            tail = offsets[slot];
+        }
+        newest = tick;
+        count += 1;
+    }
+
+    /**
+     * Put the game back to how it was just after a tick, and forget the ticks after it.
+     * @param model The game that was recorded.
+     * @param tick The tick to go back to, between {@link #getOldestTick()} and {@link #getNewestTick()}.
+     * @return Whether the tick was held (the game isn't changed if it wasn't).
+     */
+    boolean rewindTo(Model model, long tick) {
+        if (count == 0 || tick < oldest || tick > newest) {
+            return false;
+        }
+        long keyframe = tick;
+        while (!keyframes[slot(keyframe)]) {
+            keyframe -= 1;
+        }
+        restoring = true;
+        try {
+            model.loadState(read(keyframe));
+            for (long delta = keyframe + 1; delta <= tick; delta += 1) {
+                model.loadDelta(read(delta));
+            }
+        } finally {
+            restoring = false;
+        }
+
+        // The ticks after this one won't happen now, so carry on recording from here.
+        newest = tick;
+        count = (int) (newest - oldest + 1);
+        head = offsets[slot(tick)] + sizes[slot(tick)];
+        brickChangeCount = 0;
+        tooManyBrickChanges = false;
+        return true;
+    }
+
+    /**
+     * {@return the oldest tick that can be rewound to, only meaningful if there are any ({@link #getTickCount()})}
+     */
+    long getOldestTick() {
+        return oldest;
+    }
+
+    /**
+     * {@return the newest tick that can be rewound to, only meaningful if there are any ({@link #getTickCount()})}
+     */
+    long getNewestTick() {
+        return newest;
+    }
+
+    /**
+     * {@return number of ticks that can be rewound to}
+     */
+    int getTickCount() {
+        return count;
+    }
+
+    /**
+     * {@return most ticks that can be held}
+     */
+    int getTickCapacity() {
+        return offsets.length;
+    }
+
+    /**
+     * {@return number of bytes allocated to keep the ticks in, which never changes}
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void brickDestroyed(int index) {
+        brickChanged(index);
+    }
+
+    @Override
+    public void levelReset() {
+        brickChanged(Model.LEVEL_RESET);
+    }
+
+    @Override
+    public void levelScrolled() {
+        brickChanged(Model.LEVEL_SCROLLED);
+    }
+
+    /**
+     * Remember a change to the bricks for the next delta, unless it's us changing them while rewinding.
+     */
+    private void brickChanged(int change) {
+        if (restoring) {
+            return;
+        }
+        if (brickChangeCount < MAX_BRICK_CHANGES) {
+            brickChanges[brickChangeCount] = change;
+            brickChangeCount += 1;
+        } else {
+            tooManyBrickChanges = true;
+        }
+    }
+
+    /**
+     * Forget the oldest keyframe and the deltas that go with it.
+     */
+    private void forgetOldest() {
+        do {
+            oldest += 1;
+            count -= 1;
+        } while (count > 0 && !keyframes[slot(oldest)]);
+        if (count > 0) {
+            tail = offsets[slot(oldest)];
+        } else {
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    /**
+     * {@return whether another tick of some size can be saved without forgetting any}
+     */
+    private boolean hasRoom(int size) {
+        return count < offsets.length && size + padding(size) <= capacity - (head - tail);
+    }
+
+    /**
+     * {@return number of bytes to skip at the end of the buffer so a tick can be saved in one piece at the start}
+     */
+    private int padding(int size) {
+        final int position = (int) (head % capacity);
+        return position + size > capacity ? capacity - position : 0;
+    }
+
+    /**
+     * {@return the reader, set up to read a tick}
+     */
+    private ByteBuffer read(long tick) {
+        final int position = (int) (offsets[slot(tick)] % capacity);
+        reader.clear().position(position);
+        return reader;
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % offsets.length);
+    }
+}
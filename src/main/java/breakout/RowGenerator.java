@@ -0,0 +1,137 @@
+package breakout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Makes up rows of bricks for endless mode (see {@link Level#endless(int, int, long)}), from a seed.
+ * Each row is worked out only from the seed and the row's number, so the same seed always gives the same rows, in any
+ * order and on any thread, which keeps replays and rewinding exact.
+ * <p>
+ * Rows are made ahead of time on a background thread and kept in a ring buffer a few screens long, so when the level
+ * scrolls the game thread only has to copy the next row out. The game thread never waits for the background thread: if
+ * the row it wants isn't ready (e.g. just after rewinding), it makes the row itself, which is quick anyway. Only one
+ * thread may take rows with {@link #next}.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class RowGenerator {
+    static final byte NO_BRICK = -1; // Colour of a place in a row without a brick.
+
+    private static final int EMPTY_ROWS = 6;     // The first few rows are empty, so the game starts with a gap.
+    private static final int START_DENSITY = 50; // Percentage of places with a brick at the start...
+    private static final int MAX_DENSITY = 90;   // ...going up by one every DENSITY_ROWS rows to this.
+    private static final int DENSITY_ROWS = 10;
+    private static final int ROWS_PER_COLOUR = 2; // Number of rows in each band of colour.
+
+    private final long seed;
+    private final int columns;
+    private final int capacity;  // Number of rows kept ready.
+    private final byte[] rows;   // The rows kept ready, row r is at (r % capacity) * columns.
+    private final AtomicLong produced = new AtomicLong(); // Row after the last one made, only changed by the thread.
+    private final AtomicLong consumed = new AtomicLong(); // Next row the game wants, only changed by the game.
+    private final Thread thread;
+    private volatile boolean stopped;
+
+    /**
+     * Start making rows on a background thread.
+     * @param seed Decides what the rows look like.
+     * @param columns Number of bricks in each row.
+     * @param capacity Number of rows to make ahead of the game, e.g. a few screens' worth.
+     */
+    RowGenerator(long seed, int columns, int capacity) {
+        this.seed = seed;
+        this.columns = columns;
+        this.capacity = capacity;
+        rows = new byte[capacity * columns];
+        thread = new Thread(this::run, "Row generator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * {@return the seed the rows are made from}
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Stop the background thread, e.g. because the level isn't being played any more. Rows can still be taken with
+     * {@link #next}, they're just made on the calling thread.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Get a row, from the ones made ahead of time if it's there. Taking the rows in order lets the background thread
+     * make room for more.
+     * @param row Which row, counting from 0.
+     * @param into Filled in with the colour of each brick in the row, or {@link #NO_BRICK}.
+     * @param offset Where to put the first brick in into.
+     */
+    void next(long row, byte[] into, int offset) {
+        final long next = consumed.get();
+        if (row >= next && row < produced.get()) {
+            System.arraycopy(rows, (int) (row % capacity) * columns, into, offset, columns);
+        } else { // It hasn't been made yet (or it's an old one).
+            generate(seed, row, columns, into, offset);
+        }
+        if (row >= next) {
+            consumed.lazySet(row + 1); // Let the thread reuse the space, and skip any rows we've jumped over.
+            if (produced.get() - (row + 1) < capacity / 2) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Make rows until the buffer's full, then sleep until the game has taken some.
+     */
+    private void run() {
+        while (!stopped) {
+            final long wanted = consumed.get();
+            long row = produced.get();
+            if (row < wanted) { // The game has jumped ahead, so there's no point making the rows it skipped.
+                row = wanted;
+            }
+            if (row - wanted >= capacity) {
+                LockSupport.park(this);
+                continue;
+            }
+            generate(seed, row, columns, rows, (int) (row % capacity) * columns);
+            produced.lazySet(row + 1);
+        }
+    }
+
+    /**
+     * Work out what a row looks like. Rows get fuller the further into the game they are, each place's brick is decided
+     * by hashing the seed, row and column, and the left half of the row is mirrored in the right half.
+     * @param seed Decides what the rows look like.
+     * @param row Which row, counting from 0.
+     * @param columns Number of bricks in the row.
+     * @param into Filled in with the colour of each brick in the row, or {@link #NO_BRICK}.
+     * @param offset Where to put the first brick in into.
+     */
+    static void generate(long seed, long row, int columns, byte[] into, int offset) {
+        final int density = (int) Math.min(MAX_DENSITY, START_DENSITY + row / DENSITY_ROWS);
+        final byte colour = (byte) ((row / ROWS_PER_COLOUR) % Level.COLOURS);
+        for (int column = 0; column < (columns + 1) / 2; column += 1) {
+            final boolean brick = row >= EMPTY_ROWS && Math.floorMod(hash(seed, row, column), 100) < density;
+            into[offset + column] = brick ? colour : NO_BRICK;
+            into[offset + columns - 1 - column] = brick ? colour : NO_BRICK;
+        }
+    }
+
+    /**
+     * {@return a well mixed number made from a seed, row and column (using SplitMix64's finalizer)}
+     */
+    private static long hash(long seed, long row, int column) {
+        long z = seed + row * 0x9e3779b97f4a7c15L + column * 0xc2b2ae3d27d4eb4fL;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
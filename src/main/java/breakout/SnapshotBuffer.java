@@ -0,0 +1,47 @@
+package breakout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes {@link GameSnapshot}s from the game thread to the JavaFX thread without either of them ever having to wait for
+ * the other (a 'triple buffer').
+ * There are three snapshots: the game thread writes into the 'back' one, the JavaFX thread reads from the 'front' one,
+ * and the third sits in the middle. Publishing swaps the back and middle snapshots, and reading swaps the front and
+ * middle snapshots if a newer one has been published. The swaps are single atomic operations, so neither thread locks.
+ * Only one thread may publish at a time, and only one thread may read.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class SnapshotBuffer {
+    private static final int INDEX_MASK = 0b011; // The lowest two bits of middle hold the middle snapshot's index.
+    private static final int FRESH = 0b100;      // Set in middle when it holds a snapshot the reader hasn't seen.
+
+    private final GameSnapshot[] snapshots = {new GameSnapshot(), new GameSnapshot(), new GameSnapshot()};
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // Only used by the writing thread.
+    private int front = 2; // Only used by the reading thread.
+
+    /**
+     * {@return the snapshot the writing thread should fill in before calling {@link #publish()}}
+     */
+    GameSnapshot writable() {
+        return snapshots[back];
+    }
+
+    /**
+     * Make the snapshot returned by {@link #writable()} available to the reader.
+     */
+    void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * {@return the most recently published snapshot, which stays valid until the next call to this method}
+     */
+    GameSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+}
@@ -0,0 +1,73 @@
+package breakout;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+/**
+ * One image in the sprite atlas (see {@link Sprites}): which rectangle of the atlas it's in, and how to draw it.
+ * Every sprite is drawn from the same atlas image, so the renderer never has to switch images in the middle of a frame.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Sprite {
+    private final Image atlas;
+    private final int atlasX; // Where the sprite is in the atlas.
+    private final int atlasY;
+    private final int width;
+    private final int height;
+    private final Image image; // The sprite on its own, as it was before it was put in the atlas.
+
+    /**
+     * Create a sprite for a rectangle of the atlas.
+     * @param atlas The atlas image.
+     * @param atlasX X coordinate of the sprite's left side in the atlas.
+     * @param atlasY Y coordinate of the sprite's top side in the atlas.
+     * @param image The sprite on its own, which was copied into the atlas.
+     */
+    Sprite(Image atlas, int atlasX, int atlasY, Image image) {
+        this.atlas = atlas;
+        this.atlasX = atlasX;
+        this.atlasY = atlasY;
+        this.width = (int) image.getWidth();
+        this.height = (int) image.getHeight();
+        this.image = image;
+    }
+
+    /**
+     * Draw the sprite with its top-left corner at (x, y).
+     * @param gc Where to draw it.
+     * @param x X coordinate to draw the sprite's left side at.
+     * @param y Y coordinate to draw the sprite's top side at.
+     */
+    void draw(GraphicsContext gc, double x, double y) {
+        gc.drawImage(atlas, atlasX, atlasY, width, height, x, y, width, height);
+    }
+
+    /**
+     * Draw the sprite stretched to a different size, e.g. a brick in a level whose bricks aren't the usual size.
+     * @param gc Where to draw it.
+     * @param x X coordinate to draw the sprite's left side at.
+     * @param y Y coordinate to draw the sprite's top side at.
+     * @param drawWidth Width to draw it.
+     * @param drawHeight Height to draw it.
+     */
+    void draw(GraphicsContext gc, double x, double y, double drawWidth, double drawHeight) {
+        gc.drawImage(atlas, atlasX, atlasY, width, height, x, y, drawWidth, drawHeight);
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * {@return the sprite on its own, rather than in the atlas}
+     * Drawing this means switching images, so it's only for comparing against the atlas, see RenderBenchmark.
+     */
+    Image getImage() {
+        return image;
+    }
+}
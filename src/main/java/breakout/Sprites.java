@@ -0,0 +1,154 @@
+package breakout;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.effect.ColorAdjust;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+
+import java.net.URL;
+
+/**
+ * The images used to draw each kind of game object, and their shadows.
+ * This is the only part of the game (apart from the {@link View}) which needs JavaFX, so the game objects themselves can
+ * be created and updated without a GUI. The images are loaded the first time this class is used, which must be on the
+ * JavaFX application thread.
+ * All the sprites are packed side by side into one image (the 'atlas'), and each {@link Sprite} is drawn from its own
+ * rectangle of it. Drawing lots of different images means the graphics card has to keep switching between them, but
+ * with an atlas it only ever uses the one.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Sprites {
+    private static final int PADDING = 1; // Gap between sprites in the atlas, so they can't bleed into each other.
+
+    static final Image ATLAS;
+    static final Sprite BALL;
+    static final Sprite BALL_SHADOW;
+    static final Sprite PADDLE;
+    static final Sprite PADDLE_SHADOW;
+    static final Sprite BRICK_SHADOW;
+    private static final Sprite[] RAINBOW_BRICKS = new Sprite[Level.COLOURS];
+    private static int generated; // Number of images that weren't baked at build time, so had to be made here.
+
+    static {
+        // Load every sprite on its own. Shadows and brick colours are baked at build time (see AssetBaker), but if
+        // they're missing (e.g. running straight from an IDE), make them here instead.
+        final Image ball = new Image("ball.png");
+        final Image paddle = new Image("paddle.png");
+        final Image brick = new Image("brick.png");
+        final double[] hues = AssetBaker.RAINBOW_HUES;
+        final Image[] images = new Image[5 + hues.length];
+        images[0] = ball;
+        images[1] = loadShadow("ball.png", ball);
+        images[2] = paddle;
+        images[3] = loadShadow("paddle.png", paddle);
+        images[4] = loadShadow("brick.png", brick);
+        for (int i = 0; i < hues.length; i += 1) {
+            final Image baked = loadBaked(AssetBaker.brickName(i));
+            images[5 + i] = baked != null ? baked : hueShiftBrickSprite(brick, hues[i]);
+        }
+
+        // Lay them out in a row, and draw them all into the atlas.
+        final int[] atlasX = new int[images.length];
+        int atlasWidth = 0;
+        int atlasHeight = 0;
+        for (int i = 0; i < images.length; i += 1) {
+            atlasX[i] = atlasWidth;
+            atlasWidth += (int) images[i].getWidth() + PADDING;
+            atlasHeight = Math.max(atlasHeight, (int) images[i].getHeight());
+        }
+        final Canvas canvas = new Canvas(atlasWidth, atlasHeight);
+        for (int i = 0; i < images.length; i += 1) {
+            canvas.getGraphicsContext2D().drawImage(images[i], atlasX[i], 0);
+        }
+        final SnapshotParameters snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        ATLAS = canvas.snapshot(snapshotParameters, null);
+
+        BALL = new Sprite(ATLAS, atlasX[0], 0, images[0]);
+        BALL_SHADOW = new Sprite(ATLAS, atlasX[1], 0, images[1]);
+        PADDLE = new Sprite(ATLAS, atlasX[2], 0, images[2]);
+        PADDLE_SHADOW = new Sprite(ATLAS, atlasX[3], 0, images[3]);
+        BRICK_SHADOW = new Sprite(ATLAS, atlasX[4], 0, images[4]);
+        for (int i = 0; i < hues.length; i += 1) {
+            RAINBOW_BRICKS[i] = new Sprite(ATLAS, atlasX[5 + i], 0, images[5 + i]);
+        }
+    }
+
+    /**
+     * Get the sprite for a brick of a certain colour.
+     * @param colour Index of the brick's colour, see {@link Level#brickColour(int)}.
+     * @return The brick sprite in that colour.
+     */
+    static Sprite brick(int colour) {
+        return RAINBOW_BRICKS[colour];
+    }
+
+    /**
+     * {@return whether every shadow and brick colour was baked at build time, rather than made at startup}
+     */
+    static boolean allBaked() {
+        return generated == 0;
+    }
+
+    /**
+     * Load an image baked at build time.
+     * @param name The image's resource name.
+     * @return The image, or null if it wasn't baked.
+     */
+    private static Image loadBaked(String name) {
+        final URL url = Sprites.class.getClassLoader().getResource(name);
+        if (url == null) {
+            generated += 1;
+            return null;
+        }
+        return new Image(url.toExternalForm());
+    }
+
+    /**
+     * Load a sprite's shadow baked at build time, or make it if it wasn't baked.
+     * @param name The sprite's resource name.
+     * @param sprite The sprite.
+     * @return The sprite's shadow.
+     */
+    private static Image loadShadow(String name, Image sprite) {
+        final Image baked = loadBaked(AssetBaker.shadowName(name));
+        return baked != null ? baked : makeShadow(sprite);
+    }
+
+    /**
+     * Create a solid black version of a sprite to use as its shadow.
+     * JavaFX has shadows as an Effect, but they're all blurry, and I prefer sharper looking shadows for my game.
+     * @param sprite The sprite to make a shadow out of.
+     * @return The sprite's shadow, always draw this before the sprite.
+     */
+    private static Image makeShadow(Image sprite) {
+        ImageView test = new ImageView(sprite);
+        ColorAdjust colorAdjust = new ColorAdjust();
+        colorAdjust.setBrightness(-1);
+        test.setEffect(colorAdjust);
+        final SnapshotParameters snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        return test.snapshot(snapshotParameters, null);
+    }
+
+    /**
+     * Create a different coloured version of the brick sprite.
+     * @param brick The brick sprite.
+     * @param hue How far to shift the hue, from -1.0 to 1.0.
+     * @return The brick sprite in a different colour.
+     */
+    private static Image hueShiftBrickSprite(Image brick, double hue) {
+        final ColorAdjust colorAdjust = new ColorAdjust();
+        colorAdjust.setHue(hue);
+
+        final ImageView imageView = new ImageView(brick);
+        imageView.setEffect(colorAdjust);
+
+        final SnapshotParameters snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        return imageView.snapshot(snapshotParameters, null);
+    }
+}
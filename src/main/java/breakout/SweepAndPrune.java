@@ -0,0 +1,117 @@
+package breakout;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Quickly finds which balls might hit something during a tick (a 'sweep and prune' broadphase).
+ * Each ball covers a range of Y coordinates during a tick (from its top minus its speed, to its bottom plus its speed).
+ * The balls are kept sorted by the top of that range, so the balls near any horizontal band of the screen (such as the
+ * band the paddle moves along) can be found with a binary search instead of checking every ball. Balls don't move far
+ * in one tick, so the order barely changes and re-sorting it with an insertion sort is very quick (unless balls were
+ * added or removed, then it's sorted from scratch).
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class SweepAndPrune {
+    private int count;                // Number of balls.
+    private int[] order = new int[0]; // Indexes of the balls, sorted by the top of the range they cover.
+    private int[] tops = new int[0];  // Top of the range each ball covers this tick (indexed by ball, not by order).
+    private int[] bottoms = new int[0];
+    private int tallest;              // Height of the tallest range.
+    private long[] sortKeys = new long[0]; // Used to sort from scratch, the top of each range followed by its index.
+
+    /**
+     * Work out the range each ball covers this tick, and re-sort the balls. Call this at the start of every tick.
+     * @param balls The balls.
+     * @param changed Whether balls have been added or removed since last time, so the old order is no use.
+     */
+    void update(List<Ball> balls, boolean changed) {
+        count = balls.size();
+        if (order.length < count) {
+            order = new int[count * 2];
+            tops = new int[count * 2];
+            bottoms = new int[count * 2];
+        }
+
+        tallest = 0;
+        for (int i = 0; i < count; i += 1) {
+            final Ball ball = balls.get(i);
+            final int speed = Math.abs(ball.getVelocity().getY());
+            tops[i] = ball.top() - speed;
+            bottoms[i] = ball.bottom() + speed;
+            tallest = Math.max(tallest, bottoms[i] - tops[i]);
+        }
+
+        if (changed) {
+            sortFromScratch();
+        } else {
+            insertionSort();
+        }
+    }
+
+    /**
+     * Sort the balls when the order is nearly right already, which insertion sort does very quickly.
+     */
+    private void insertionSort() {
+        for (int i = 1; i < count; i += 1) {
+            final int ball = order[i];
+            int j = i - 1;
+            while (j >= 0 && tops[order[j]] > tops[ball]) {
+                order[j + 1] = order[j];
+                j -= 1;
+            }
+            order[j + 1] = ball;
+        }
+    }
+
+    /**
+     * Sort the balls when the order could be completely wrong. Packing each ball's top and index into one number means
+     * the numbers can be sorted directly.
+     */
+    private void sortFromScratch() {
+        if (sortKeys.length < count) {
+            sortKeys = new long[order.length];
+        }
+        for (int i = 0; i < count; i += 1) {
+            sortKeys[i] = ((long) tops[i] << 32) | i;
+        }
+        Arrays.sort(sortKeys, 0, count);
+        for (int i = 0; i < count; i += 1) {
+            order[i] = (int) sortKeys[i];
+        }
+    }
+
+    /**
+     * Find the balls whose range overlaps a horizontal band of the screen.
+     * @param top Y coordinate of the top of the band.
+     * @param bottom Y coordinate of the bottom of the band.
+     * @param into Set of ball indexes to add the balls to.
+     */
+    void findOverlapping(int top, int bottom, BitSet into) {
+        // A range can't start further above the band than the tallest range, so skip straight past those that do.
+        for (int i = firstAtOrBelow(top - tallest + 1); i < count && tops[order[i]] < bottom; i += 1) {
+            if (bottoms[order[i]] > top) {
+                into.set(order[i]);
+            }
+        }
+    }
+
+    /**
+     * {@return the position in the sorted order of the first ball whose range starts at or below a Y coordinate}
+     */
+    private int firstAtOrBelow(int y) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (tops[order[middle]] < y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
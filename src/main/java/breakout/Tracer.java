@@ -0,0 +1,201 @@
+package breakout;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records trace messages cheaply enough to leave on while the game is running, see {@link Debug#trace(String)}.
+ * Printing a message straight away means formatting it and waiting for the console, which can hold up the game thread
+ * for longer than a whole tick. Instead, each thread writes its messages into its own ring buffer: just the format
+ * string and up to two numbers, so nothing is allocated and no locks are taken. A background thread empties the
+ * buffers every {@value #FLUSH_INTERVAL_MS} ms, formats the messages and writes them out (to the console unless
+ * {@link #setOutput(Writer)} is used to pick a file).
+ * If a thread writes more than {@value #CAPACITY} messages before they're written out, the oldest are overwritten, and
+ * the number of messages lost is written out instead. Once a thread has finished and its messages have been written
+ * out, its buffer is thrown away, so pools that keep starting new threads don't keep every old thread's buffer.
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class Tracer {
+    static final int CAPACITY = 4096; // Messages each thread's buffer can hold, must be a power of two.
+    private static final int FLUSH_INTERVAL_MS = 100;
+
+    private static final long START_TIME = System.nanoTime();
+    private static final List<Ring> rings = new ArrayList<>(); // Every living thread's buffer, guarded by the lock.
+    private static final ThreadLocal<Ring> ring = ThreadLocal.withInitial(Tracer::createRing);
+    private static Writer output = new OutputStreamWriter(System.out);
+    private static Formatter formatter = new Formatter(output);
+    private static Thread flusher;
+
+    private Tracer() {
+    }
+
+    /**
+     * Add a message to the current thread's buffer.
+     * @param format Format string for the message, the same as printf etc. It's only used when the message is written
+     *               out, with {@code argCount} of {@code first} and {@code second} as its arguments.
+     */
+    static void record(String format, int argCount, long first, long second) {
+        ring.get().record(format, argCount, first, second);
+    }
+
+    /**
+     * Set where messages are written, e.g. a file. Messages already waiting are written to the old output first.
+     */
+    static synchronized void setOutput(Writer writer) {
+        flush();
+        output = writer;
+        formatter = new Formatter(writer);
+    }
+
+    /**
+     * Write out every message waiting in every thread's buffer. The background thread does this regularly, so this
+     * only needs calling to make sure everything has been written, e.g. when the game ends.
+     */
+    static synchronized void flush() {
+        try {
+            for (int i = 0; i < rings.size(); i += 1) {
+                final Ring r = rings.get(i);
+                // Check before draining, so if the thread has finished, everything it recorded gets written out now.
+                final boolean finished = !r.thread.isAlive();
+                r.drain();
+                if (finished) { // Swap the last buffer into its place, the order doesn't matter.
+                    rings.set(i, rings.get(rings.size() - 1));
+                    rings.remove(rings.size() - 1);
+                    i -= 1;
+                }
+            }
+            output.flush();
+        } catch (IOException e) {
+            System.out.println("ERROR: Tracer::flush: " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@return number of threads' buffers being kept}
+     */
+    static synchronized int getRingCount() {
+        return rings.size();
+    }
+
+    /**
+     * Make a buffer for a thread the first time it records a message, and start the background thread if it hasn't
+     * been already.
+     */
+    private static synchronized Ring createRing() {
+        final Ring r = new Ring(Thread.currentThread());
+        rings.add(r);
+        if (flusher == null) {
+            flusher = new Thread(Tracer::flushRegularly, "Tracer");
+            flusher.setDaemon(true); // Don't keep the program running just to write messages.
+            flusher.start();
+            // Write out whatever's left when the program ends.
+            Runtime.getRuntime().addShutdownHook(new Thread(Tracer::flush, "Tracer shutdown"));
+        }
+        return r;
+    }
+
+    private static void flushRegularly() {
+        while (true) {
+            flush();
+            try {
+                Thread.sleep(FLUSH_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * One thread's messages. Only that thread writes messages, and only the thread holding the Tracer's lock reads
+     * them, so it doesn't need a lock of its own. Messages are stored in arrays (rather than as objects) so recording
+     * one doesn't allocate anything.
+     */
+    private static final class Ring {
+        private static final int MASK = CAPACITY - 1;
+
+        private final Thread thread; // The thread whose messages these are, so we can tell when it's finished.
+        private final String threadName;
+        private final long[] times = new long[CAPACITY];
+        private final String[] formats = new String[CAPACITY];
+        private final byte[] argCounts = new byte[CAPACITY];
+        private final long[] firstArgs = new long[CAPACITY];
+        private final long[] secondArgs = new long[CAPACITY];
+
+        private long next;      // Number of messages this thread has recorded, only used by this thread.
+        private final AtomicLong written = new AtomicLong(); // Number of messages that are ready to be read.
+        private long read;      // Number of messages that have been read, only used while holding the Tracer's lock.
+
+        private Ring(Thread thread) {
+            this.thread = thread;
+            this.threadName = thread.getName();
+        }
+
+        private void record(String format, int argCount, long first, long second) {
+            // Make sure the reader can see we've moved on before we start overwriting its oldest message.
+            VarHandle.storeStoreFence();
+            final int index = (int) (next & MASK);
+            times[index] = System.nanoTime();
+            formats[index] = format;
+            argCounts[index] = (byte) argCount;
+            firstArgs[index] = first;
+            secondArgs[index] = second;
+            next += 1;
+            written.lazySet(next); // Publish the message, without waiting for other cores to see it.
+        }
+
+        /**
+         * Format and write out every message that hasn't been read yet.
+         */
+        private void drain() throws IOException {
+            final long end = written.get();
+            final long overwritten = Math.max(0, end - CAPACITY - read); // Messages overwritten before we got to them.
+            writeLost(overwritten);
+            long garbled = 0;
+            for (long message = read + overwritten; message < end; message += 1) {
+                final int index = (int) (message & MASK);
+                final long time = times[index];
+                final String format = formats[index];
+                final int argCount = argCounts[index];
+                final long first = firstArgs[index];
+                final long second = secondArgs[index];
+                // If the thread has started overwriting this message while we were reading it, it could be garbled.
+                VarHandle.loadLoadFence();
+                if (written.get() - CAPACITY >= message) {
+                    garbled += 1;
+                } else {
+                    write(time, format, argCount, first, second);
+                }
+            }
+            writeLost(garbled);
+            read = end;
+        }
+
+        private void writeLost(long lost) {
+            if (lost > 0) {
+                formatter.format("[%10.3f ms %s] %d trace messages lost%n", millis(System.nanoTime()), threadName,
+                        lost);
+            }
+        }
+
+        private void write(long time, String format, int argCount, long first, long second) throws IOException {
+            formatter.format("[%10.3f ms %s] ", millis(time), threadName);
+            switch (argCount) {
+                case 0 -> formatter.format(format);
+                case 1 -> formatter.format(format, first);
+                default -> formatter.format(format, first, second);
+            }
+            output.write(System.lineSeparator());
+        }
+
+        private static double millis(long time) {
+            return (time - START_TIME) / 1e6;
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package breakout;
+
 /**
  * 2-dimensional vector with integer X and Y components.
  * Used to represent positions, sizes, and directions throughout the rest of the game.
@@ -0,0 +1,408 @@
+package breakout;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.canvas.*;
+import javafx.scene.control.*;
+import javafx.scene.image.Image;
+import javafx.scene.layout.*;
+import javafx.scene.paint.*;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.lang.management.ManagementFactory;
+
+/** Creates and manages the GUI for the application.
+ * It doesn't know anything about the game itself, it just displays the current state of the {@link Model}, and handles
+ * user input.
+ * Usually very little changes from one frame to the next, so rather than redrawing the whole window every frame, it
+ * works out which parts have changed (see {@link DirtyRegions}) and only redraws those. Everything that doesn't move
+ * is drawn from one picture (see {@link BrickLayer}), with the balls and paddle on top. When the game is paused or
+ * over, nothing changes at all, so it stops drawing until the game starts or resumes (see {@link RenderScheduler}).
+ * @author Seth Humphries
+ * @version 1.0
+ */
+class View {
+    // Format of the text at the top of the screen. Includes width for scores of up to 8 digits.
+    public static final String INFO_TEXT_FORMAT = "Lives: %-6d Score: %8d";
+    public static final String GAME_OVER_TEXT_FORMAT = "Your score was: %8d\nWould you like to play again?";
+
+    private static final Image BACKGROUND = new Image("background.png");
+    private static final int BACKGROUND_WIDTH = 28;
+    private static final int BACKGROUND_HEIGHT = 16;
+    private static final ImagePattern BACKGROUND_PATTERN =
+            new ImagePattern(BACKGROUND, 0, 0, BACKGROUND_WIDTH, BACKGROUND_HEIGHT, false);
+
+    private static final int SHADOW_OFFSET = 4;      // Distance shadows are drawn down and to the right of sprites.
+    private static final int MAX_DIRTY_REGIONS = 32; // If more changes than this, it's quicker to redraw everything.
+
+    // Variables for components of the user interface.
+    private final int width;  // Width of window.
+    private final int height; // Height of window.
+
+    private Canvas canvas;  // Canvas to draw game on.
+    private Label infoText; // Info at top of screen.
+    private BrickLayer brickLayer; // Picture of the background and bricks.
+    private Dialog<ButtonType> gameOverDialog;
+    private boolean gameOverPending; // Whether the game over dialog is waiting to be shown, or is showing.
+
+    // What was drawn last frame, so we can work out what's changed since.
+    private final DirtyRegions dirty = new DirtyRegions(MAX_DIRTY_REGIONS);
+    private boolean redrawAll = true; // Whether the whole window needs redrawing, e.g. the first frame or a resize.
+    private int drawCalls;    // Images drawn this frame, for the Frame event.
+    private int regionsDrawn; // Regions redrawn this frame, or 0 if the whole window was redrawn.
+    private int[] ballX = new int[1]; // Where the balls are drawn this frame.
+    private int[] ballY = new int[1];
+    private int[] drawnBallX = new int[1]; // Where the balls were drawn last frame.
+    private int[] drawnBallY = new int[1];
+    private int drawnBallCount;
+    private int drawnPaddleX;
+    private int drawnPaddleY;
+    private AnimationTimer redrawTimer; // Calls update() once per monitor refresh while it's running.
+    private boolean redrawTimerRunning;
+    private final RenderScheduler scheduler = new RenderScheduler();
+    private boolean firstFrameDrawn;
+    private int drawnLives = -1;
+    private int drawnScore = -1;
+
+    // The other parts of the model-view-controller setup.
+    private Controller controller;
+    private final Model model;
+
+    /**
+     * Construct the view, it infers the width and height from the model argument.
+     * @param model Model this view will read state from.
+     */
+    View(Model model) {
+        Debug.trace("View::<constructor>");
+        this.model = model;
+        width = model.width;
+        height = model.height;
+    }
+
+    /**
+     * Set the controller component of MVC.
+     * @param controller The controller for the view to talk to.
+     */
+    void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Start the GUI up, called from the Main class.
+     * @param window The Stage that JavaFX passed to {@link Main#start(Stage)}.
+     */
+    void start(Stage window) {
+        // breakout is basically one big drawing canvas, and all the objects are
+        // drawn on it as rectangles, except for the text at the top - this
+        // is a label which sits 'in front of' the canvas.
+        
+        // Note that it is important to create control objects (Pane, Label,Canvas etc.)
+        // here not in the constructor (or as initialisations to instance variables),
+        // to make sure everything is initialised in the right order
+        // user interface objects
+        // basic layout pane
+        Pane pane = new Pane(); // a simple layout pane
+
+        // canvas object - we set the width and height here (from the constructor), 
+        // and the pane and window set themselves up to be big enough
+        canvas = new Canvas(width, height);
+        pane.getChildren().add(canvas); // add the canvas to the pane
+        brickLayer = new BrickLayer(width, height, BACKGROUND_PATTERN, SHADOW_OFFSET);
+        
+        // infoText box for the score - a label which we position in front of
+        // the canvas (by adding it to the pane after the canvas)
+        infoText = new Label(String.format(INFO_TEXT_FORMAT, model.getLives(), model.getScore()));
+        infoText.setTranslateX(10);       // these commands set the position of the text box
+        infoText.setTranslateY(10);       // (measuring from the top left corner)
+        pane.getChildren().add(infoText); // add label to the pane
+
+        // dialog box for when the game is over (player ran out of lives)
+        gameOverDialog = new Dialog<>();
+        gameOverDialog.setTitle("Game over!");
+        gameOverDialog.setContentText(String.format(GAME_OVER_TEXT_FORMAT, model.getScore()));
+        gameOverDialog.getDialogPane().getButtonTypes().add(ButtonType.NO);
+        gameOverDialog.getDialogPane().getButtonTypes().add(ButtonType.YES);
+
+        // Make a new JavaFX Scene, containing the complete GUI
+        Scene scene = new Scene(pane);   
+        scene.getStylesheets().add("breakout.css"); // tell the app to use our css file
+
+        // Add an event handler for key presses.
+        scene.setOnKeyPressed(keyEvent -> {
+            // Send the event to the controller
+            controller.userKeyPressInteraction(keyEvent);
+        });
+
+        // Add an event handler for key releases.
+        scene.setOnKeyReleased(keyEvent -> {
+            // Send the event to the controller
+            controller.userKeyReleaseInteraction(keyEvent);
+        });
+
+        // put the scene in the window and display it
+        window.setScene(scene);
+        window.setTitle("Breakout");
+        window.show();
+
+        // Resizing the window can clear (or move) what's already drawn, so redraw everything.
+        window.widthProperty().addListener((observable, oldWidth, newWidth) -> redrawEverything());
+        window.heightProperty().addListener((observable, oldHeight, newHeight) -> redrawEverything());
+
+        /* AnimationTimer calls its handle method and redraws the screen once per monitor refresh.
+         * This keeps the window's framerate smooth and separate from our Model's internal update rate. */
+        redrawTimer = new AnimationTimer() {
+            @Override
+            public void handle(long l) {
+                update(); // Refresh screen
+            }
+        };
+        // The timer stops when there's nothing to draw, so start it again when the game starts or resumes.
+        model.setChangeListener(() -> Platform.runLater(this::wake));
+        wake();
+    }
+
+    /**
+     * Start drawing frames again (if we'd stopped), and make sure the next frame is drawn.
+     */
+    private void wake() {
+        scheduler.invalidate();
+        if (!redrawTimerRunning) {
+            redrawTimerRunning = true;
+            redrawTimer.start();
+        }
+    }
+
+    /**
+     * Redraw the whole window on the next frame, rather than just the parts that have changed.
+     */
+    private void redrawEverything() {
+        redrawAll = true;
+        wake();
+    }
+
+    /**
+     * Draw the game image, only redrawing the parts of the window that have changed since the last frame.
+     * @param snapshot The game state to draw.
+     * @param alpha How far between the previous tick and this one to draw the balls and paddle.
+     */
+    private void drawPicture(GameSnapshot snapshot, double alpha) {
+        // Get the 'paint brush' to draw on the canvas.
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+
+        // Work out where the balls and paddle are, part way between where they were and where they are now.
+        final int ballCount = snapshot.getBallCount();
+        if (ballX.length < ballCount) {
+            ballX = new int[ballCount * 2];
+            ballY = new int[ballCount * 2];
+        }
+        for (int i = 0; i < ballCount; i += 1) {
+            ballX[i] = snapshot.ballX(i, alpha);
+            ballY[i] = snapshot.ballY(i, alpha);
+        }
+        final int paddleX = snapshot.paddleX(alpha);
+        final int paddleY = snapshot.paddleY(alpha);
+
+        drawCalls = 0;
+        dirty.clear();
+        dirty.setBounds(0, Model.MENU_HEIGHT, width, height);
+        if (brickLayer.update(snapshot, dirty)) { // Bricks were redrawn from scratch, e.g. a new level.
+            redrawAll = true;
+        }
+        findChanges(ballCount, paddleX, paddleY);
+        if (redrawAll || dirty.overflowed()) {
+            drawEverything(gc, ballCount, paddleX, paddleY);
+            redrawAll = false;
+            regionsDrawn = 0;
+        } else {
+            regionsDrawn = dirty.size();
+            for (int i = 0; i < dirty.size(); i += 1) {
+                drawRegion(gc, ballCount, paddleX, paddleY, i);
+            }
+        }
+        rememberDrawn(ballCount, paddleX, paddleY);
+
+        if (!firstFrameDrawn) { // Report how long the game took to start up, to keep an eye on it.
+            firstFrameDrawn = true;
+            final long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            Metrics.firstFrameDrawn(uptime);
+            Debug.trace(Sprites.allBaked()
+                    ? "View::drawPicture: First frame drawn %d ms after startup (sprites baked at build time)"
+                    : "View::drawPicture: First frame drawn %d ms after startup (sprites made at startup)", uptime);
+        }
+
+        // Update the lives and score (only if they've changed, there's no point making a new string otherwise).
+        if (snapshot.getLives() != drawnLives || snapshot.getScore() != drawnScore) {
+            drawnLives = snapshot.getLives();
+            drawnScore = snapshot.getScore();
+            infoText.setText(String.format(INFO_TEXT_FORMAT, drawnLives, drawnScore));
+        }
+
+    }
+
+    /**
+     * Show the game over dialog if the game has just finished.
+     */
+    private void checkGameOver(GameSnapshot snapshot) {
+        if (model.getGameFinished() && !gameOverPending) {
+            gameOverPending = true;
+            gameOverDialog.setContentText(String.format(GAME_OVER_TEXT_FORMAT, snapshot.getScore()));
+            // Dialogs can't wait for an answer in the middle of an animation, so show it once this frame is done.
+            Platform.runLater(this::showGameOverDialog);
+        }
+    }
+
+    /**
+     * Work out which parts of the window the balls and paddle have changed since the last frame: wherever they were and
+     * wherever they are now. (The brick layer works out where bricks have been destroyed.)
+     */
+    private void findChanges(int ballCount, int paddleX, int paddleY) {
+        if (redrawAll) {
+            return;
+        }
+
+        // Moving things need clearing from where they were, and drawing where they are now.
+        for (int i = 0; i < Math.max(ballCount, drawnBallCount); i += 1) {
+            final boolean moved = i >= ballCount || i >= drawnBallCount
+                    || ballX[i] != drawnBallX[i] || ballY[i] != drawnBallY[i];
+            if (moved && i < drawnBallCount) {
+                addSprite(drawnBallX[i], drawnBallY[i], Sprites.BALL);
+            }
+            if (moved && i < ballCount) {
+                addSprite(ballX[i], ballY[i], Sprites.BALL);
+            }
+        }
+        if (paddleX != drawnPaddleX || paddleY != drawnPaddleY) {
+            addSprite(drawnPaddleX, drawnPaddleY, Sprites.PADDLE);
+            addSprite(paddleX, paddleY, Sprites.PADDLE);
+        }
+    }
+
+    /**
+     * Mark the area a sprite (and its shadow) covers as needing to be redrawn.
+     */
+    private void addSprite(int x, int y, Sprite sprite) {
+        dirty.add(x, y, sprite.getWidth() + SHADOW_OFFSET, sprite.getHeight() + SHADOW_OFFSET);
+    }
+
+    /**
+     * {@return whether a sprite (or its shadow) at (x, y) is inside one of the regions being redrawn}
+     */
+    private boolean spriteInRegion(int region, int x, int y, Sprite sprite) {
+        return dirty.overlaps(region, x, y, sprite.getWidth() + SHADOW_OFFSET, sprite.getHeight() + SHADOW_OFFSET);
+    }
+
+    /**
+     * Redraw the whole window.
+     */
+    private void drawEverything(GraphicsContext gc, int ballCount, int paddleX, int paddleY) {
+        // The menu bar, background and bricks.
+        gc.drawImage(brickLayer.getImage(), 0, 0);
+        drawCalls += 1;
+
+        // Draw the balls and paddle on top.
+        for (int i = 0; i < ballCount; i += 1) {
+            displaySprite(gc, ballX[i], ballY[i], Sprites.BALL, Sprites.BALL_SHADOW);
+        }
+        displaySprite(gc, paddleX, paddleY, Sprites.PADDLE, Sprites.PADDLE_SHADOW);
+    }
+
+    /**
+     * Redraw one region of the window: the same part of the brick layer, then the balls and paddle that overlap it, so
+     * it looks exactly the same as if everything had been redrawn.
+     */
+    private void drawRegion(GraphicsContext gc, int ballCount, int paddleX, int paddleY, int region) {
+        final int x = dirty.left(region);
+        final int y = dirty.top(region);
+        final int regionWidth = dirty.right(region) - x;
+        final int regionHeight = dirty.bottom(region) - y;
+
+        // Stop anything being drawn outside the region.
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, regionWidth, regionHeight);
+        gc.clip();
+
+        gc.drawImage(brickLayer.getImage(), x, y, regionWidth, regionHeight, x, y, regionWidth, regionHeight);
+        drawCalls += 1;
+        for (int i = 0; i < ballCount; i += 1) {
+            if (spriteInRegion(region, ballX[i], ballY[i], Sprites.BALL)) {
+                displaySprite(gc, ballX[i], ballY[i], Sprites.BALL, Sprites.BALL_SHADOW);
+            }
+        }
+        if (spriteInRegion(region, paddleX, paddleY, Sprites.PADDLE)) {
+            displaySprite(gc, paddleX, paddleY, Sprites.PADDLE, Sprites.PADDLE_SHADOW);
+        }
+
+        gc.restore();
+    }
+
+    /**
+     * Remember where the balls and paddle were drawn this frame, to compare the next frame against.
+     */
+    private void rememberDrawn(int ballCount, int paddleX, int paddleY) {
+        // Swap the arrays rather than copying them.
+        final int[] oldX = drawnBallX;
+        final int[] oldY = drawnBallY;
+        drawnBallX = ballX;
+        drawnBallY = ballY;
+        ballX = oldX;
+        ballY = oldY;
+        drawnBallCount = ballCount;
+        drawnPaddleX = paddleX;
+        drawnPaddleY = paddleY;
+    }
+
+    /**
+     * Show the game over dialog and pass the player's answer to the controller.
+     */
+    private void showGameOverDialog() {
+        gameOverDialog.showAndWait().ifPresent(response -> controller.gameOverDialogInteraction(response));
+        gameOverPending = false;
+    }
+
+    /**
+     * Draw a sprite and its shadow with the sprite's top-left corner at (x, y).
+     */
+    private void displaySprite(GraphicsContext gc, int x, int y, Sprite sprite, Sprite shadow) {
+        // Game's assets are imagined to be lit from the top-left, so draw shadow 4 pixels down and to the right.
+        shadow.draw(gc, x + SHADOW_OFFSET, y + SHADOW_OFFSET);
+        sprite.draw(gc, x, y);
+        drawCalls += 2;
+    }
+
+    /**
+     * This method gets called once per monitor refresh by the timer started in {@link #start(Stage)}. It has to do
+     * whatever is required to update the GUI to show the new game position.
+     */
+    void update() {
+        // Check whether the game is running before getting the snapshot: the game is only paused or finished between
+        // ticks, after the last tick's snapshot has been published, so if it's stopped this snapshot is its final
+        // state.
+        final boolean running = model.isRunning();
+        // The game loop is running 'in the background', so rather than looking at the model while it might be changing,
+        // draw the latest snapshot it has published. This never has to wait for the game thread.
+        final GameSnapshot snapshot = model.getSnapshot();
+        if (snapshot.getLevel() == null) { // The game hasn't started yet.
+            return;
+        }
+
+        // Nothing moves while the game is paused or over, so draw everything where it is now rather than in between.
+        final double alpha = running ? model.getInterpolationAlpha() : 1.0;
+        if (scheduler.shouldDraw(snapshot.getTick(), alpha)) { // Only redraw if something has changed.
+            Debug.trace("Update");
+            final GameEvents.Frame event = GameEvents.frameStarted();
+            final long start = System.nanoTime();
+            drawPicture(snapshot, alpha); // Re draw game
+            Metrics.RENDER_TIME.record(System.nanoTime() - start);
+            GameEvents.frameFinished(event, snapshot.getTick(), drawCalls, regionsDrawn);
+            scheduler.drawn(snapshot.getTick(), alpha);
+        }
+        checkGameOver(snapshot);
+
+        if (scheduler.isIdle(running, snapshot.getTick())) { // Stop drawing until the game starts or resumes.
+            redrawTimer.stop();
+            redrawTimerRunning = false;
+        }
+    }
+}
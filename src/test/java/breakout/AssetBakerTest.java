@@ -0,0 +1,39 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetBakerTest {
+    @TempDir
+    Path outputFolder;
+
+    @Test
+    @DisplayName("Baking makes a black shadow for each sprite and a brick in every colour")
+    void bakesEverything() throws Exception {
+        final File output = outputFolder.toFile();
+        AssetBaker.main(new String[] {"src/main/resources", output.getPath()});
+
+        final BufferedImage ball = ImageIO.read(new File("src/main/resources/ball.png"));
+        final BufferedImage shadow = ImageIO.read(new File(output, AssetBaker.shadowName("ball.png")));
+        for (int y = 0; y < ball.getHeight(); y += 1) {
+            for (int x = 0; x < ball.getWidth(); x += 1) {
+                assertEquals(ball.getRGB(x, y) & 0xff000000, shadow.getRGB(x, y), "Shadow pixel " + x + ", " + y);
+            }
+        }
+
+        final BufferedImage red = ImageIO.read(new File(output, AssetBaker.brickName(0)));
+        final BufferedImage brick = ImageIO.read(new File("src/main/resources/brick.png"));
+        assertEquals(brick.getRGB(5, 5), red.getRGB(5, 5), "Shifting the hue by 0 shouldn't change the colour");
+        for (int colour = 0; colour < Level.COLOURS; colour += 1) {
+            assertTrue(new File(output, AssetBaker.brickName(colour)).isFile(), "Brick colour " + colour);
+        }
+    }
+}
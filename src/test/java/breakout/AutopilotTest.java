@@ -0,0 +1,86 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutopilotTest {
+    private static final int PADDLE_TOP = 355;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("The predicted landing place matches the ball's, after bouncing off the walls any number of times")
+    void predictionMatchesSimulation() {
+        final Level level = new Level();
+        final BallMotion motion = new BallMotion();
+        final int[] velocitiesX = {-11, -7, -3, 0, 3, 5, 13, 29};
+        final int[] startsX = {0, 17, 140, 290};
+        int misses = 0;
+        for (int velocityX : velocitiesX) {
+            for (int startX : startsX) {
+                // 144 pixels to fall, 48 ticks at 3 pixels per tick.
+                final Ball ball = new Ball(new Vector2(startX, PADDLE_TOP - 154));
+                ball.getVelocity().setX(velocityX);
+                ball.getVelocity().setY(3);
+                final double ticks = Autopilot.ticksToReach(ball, PADDLE_TOP, Model.MENU_HEIGHT);
+                final double predicted = Autopilot.landingX(ball, ticks, Main.WINDOW_WIDTH);
+                while (ball.bottom() < PADDLE_TOP) {
+                    motion.plan(ball, level, null, Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT, Model.MENU_HEIGHT);
+                    motion.commit(level);
+                }
+                if (ticks != 48 || Math.abs(predicted - ball.left()) > 1) {
+                    misses += 1;
+                }
+            }
+        }
+        assertEquals(0, misses, "Predictions more than a pixel out");
+    }
+
+    @Test
+    @DisplayName("A ball moving up is followed up to the top of the screen and back down")
+    void ballMovingUp() {
+        final Ball ball = new Ball(new Vector2(100, 200));
+        ball.getVelocity().setX(4);
+        ball.getVelocity().setY(-4);
+        final Ball still = new Ball(new Vector2(100, 200));
+        still.getVelocity().setY(0);
+        final Ball below = new Ball(new Vector2(100, PADDLE_TOP + 5));
+
+        assertAll(
+                () -> assertEquals((160 + 305) / 4.0, Autopilot.ticksToReach(ball, PADDLE_TOP, Model.MENU_HEIGHT)),
+                () -> assertEquals(Double.POSITIVE_INFINITY, Autopilot.ticksToReach(still, PADDLE_TOP, 40)),
+                () -> assertEquals(Double.POSITIVE_INFINITY, Autopilot.ticksToReach(below, PADDLE_TOP, 40))
+        );
+    }
+
+    @Test
+    @DisplayName("The autopilot keeps the ball in play, and its games play back without it")
+    void autopilotPlaysAndReplays() throws Exception {
+        final boolean oldDebug = Debug.set(false);
+        final Path file = folder.resolve("autopilot.replay");
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.setAutopilot(new Autopilot());
+        model.startRecording(file);
+        for (int tick = 0; tick < 20_000 && !model.getGameFinished(); tick += 1) {
+            model.updateGame();
+        }
+        model.finishRecording();
+
+        final ReplayPlayer.Result result = ReplayPlayer.play(file);
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(5, model.getLives(), "No lives were lost"),
+                () -> assertTrue(model.getScore() > 0),
+                () -> assertEquals(model.getTick(), result.ticks),
+                () -> assertEquals(model.getScore(), result.score)
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+    @Test
+    @DisplayName("Games play out the same whichever thread they run on")
+    void sameResultsOnAnyThreads() throws Exception {
+        final boolean oldDebug = Debug.set(false);
+        final BatchRunner.GameResult[] one = BatchRunner.playGames(8, 1, 5000, BatchRunner.PaddleScript.RANDOM, 7);
+        final BatchRunner.GameResult[] four = BatchRunner.playGames(8, 4, 5000, BatchRunner.PaddleScript.RANDOM, 7);
+        Debug.set(oldDebug);
+
+        for (int i = 0; i < one.length; i += 1) {
+            assertEquals(one[i].ticks, four[i].ticks, "Ticks in game " + i);
+            assertEquals(one[i].score, four[i].score, "Score in game " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Options are read from the command line, and missing or invalid values are rejected")
+    void parseOptions() {
+        final BatchRunner.Options options = BatchRunner.Options.parse(
+                new String[] {"--games", "20", "--threads", "1,2", "--paddle", "autopilot", "--seed", "-3"});
+
+        assertAll(
+                () -> assertEquals(20, options.games),
+                () -> assertArrayEquals(new int[] {1, 2}, options.threadCounts),
+                () -> assertEquals(BatchRunner.PaddleScript.AUTOPILOT, options.script),
+                () -> assertEquals(-3, options.seed),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> BatchRunner.Options.parse(new String[] {"--games", "0"})),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> BatchRunner.Options.parse(new String[] {"--ticks", "100", "--games"})),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> BatchRunner.Options.parse(new String[] {"--threads", "2,x"})),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> BatchRunner.Options.parse(new String[] {"--paddle", "sideways"})),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> BatchRunner.Options.parse(new String[] {"--balls", "3"}))
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrickGridTest {
+    @Test
+    @DisplayName("Grid finds the same brick as sweeping against every brick")
+    void matchesLinearScan() {
+        Level level = new Level();
+        Collision gridContact = new Collision();
+        Collision contact = new Collision();
+
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i += 1) {
+            if (i % 20 == 0) { // Destroy a brick every so often.
+                final int destroyed = random.nextInt(level.getBrickCount());
+                if (level.isBrickVisible(destroyed)) {
+                    level.brickDestroyed(destroyed);
+                }
+            }
+
+            KineticGameObj ball = new KineticGameObj(
+                    new Vector2(random.nextInt(-20, 320), random.nextInt(40, 160)), new Vector2(10, 10));
+            final int dx = random.nextInt(-40, 41);
+            final int dy = random.nextInt(-40, 41);
+            int expected = -1;
+            float expectedTime = Float.POSITIVE_INFINITY;
+            for (int brick = level.nextVisibleBrick(0); brick >= 0; brick = level.nextVisibleBrick(brick + 1)) {
+                if (contact.sweep(ball, dx, dy, level.brickLeft(brick), level.brickTop(brick), level.brickRight(brick),
+                        level.brickBottom(brick)) && contact.getTime() < expectedTime) {
+                    expected = brick;
+                    expectedTime = contact.getTime();
+                }
+            }
+            assertEquals(expected, level.sweepBricks(ball, dx, dy, gridContact));
+        }
+    }
+}
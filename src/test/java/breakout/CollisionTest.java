@@ -1,3 +1,5 @@
+package breakout;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -10,10 +12,10 @@ class CollisionTest {
         final Vector2 size10Square = new Vector2(10, 10);
 
         final Vector2 stationaryPosition = new Vector2(0, 0);
-        GameObj stationary = new GameObj(stationaryPosition, size10Square, null, null);
+        GameObj stationary = new GameObj(stationaryPosition, size10Square);
 
         final Vector2 movingPosition = new Vector2(5, 0);
-        KineticGameObj moving = new KineticGameObj(movingPosition, size10Square, null, null);
+        KineticGameObj moving = new KineticGameObj(movingPosition, size10Square);
         moving.setVelocity(new Vector2(-5, 0));
 
         Collision collision = new Collision(moving, stationary);
@@ -29,10 +31,10 @@ class CollisionTest {
         final Vector2 size10Square = new Vector2(10, 10);
 
         final Vector2 stationaryPosition = new Vector2(0, 0);
-        GameObj stationary = new GameObj(stationaryPosition, size10Square, null, null);
+        GameObj stationary = new GameObj(stationaryPosition, size10Square);
 
         final Vector2 movingPosition = new Vector2(0, 5);
-        KineticGameObj moving = new KineticGameObj(movingPosition, size10Square, null, null);
+        KineticGameObj moving = new KineticGameObj(movingPosition, size10Square);
         moving.setVelocity(new Vector2(0, -5));
 
         Collision collision = new Collision(moving, stationary);
@@ -41,4 +43,35 @@ class CollisionTest {
                 () -> assertTrue(collision.getHitY())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Fast KineticGameObj sweeping through a thin GameObj hits its top side")
+    void sweepNoTunnelling() {
+        // A 30x10 brick, and a ball above it moving down 40 pixels per tick - further than the brick is tall.
+        final Vector2 ballPosition = new Vector2(10, 0);
+        KineticGameObj moving = new KineticGameObj(ballPosition, new Vector2(10, 10));
+
+        Collision collision = new Collision();
+        final boolean hit = collision.sweep(moving, 0, 40, 0, 30, 30, 40);
+        assertAll(
+                () -> assertTrue(hit),
+                () -> assertFalse(collision.getHitX()),
+                () -> assertTrue(collision.getHitY()),
+                () -> assertEquals(0.5, collision.getTime(), 1e-6),
+                () -> assertEquals(20, collision.getMoveY())
+        );
+    }
+
+    @Test
+    @DisplayName("Sweeping past a GameObj, or only touching it, isn't a hit")
+    void sweepMiss() {
+        KineticGameObj moving = new KineticGameObj(new Vector2(0, 0), new Vector2(10, 10));
+
+        Collision collision = new Collision();
+        assertAll(
+                () -> assertFalse(collision.sweep(moving, 40, 0, 0, 20, 30, 30)),  // Passes above.
+                () -> assertFalse(collision.sweep(moving, 0, 10, 10, 20, 40, 30)), // Slides past its corner.
+                () -> assertFalse(collision.sweep(moving, 5, 5, 30, 30, 40, 40))   // Stops short.
+        );
+    }
+}
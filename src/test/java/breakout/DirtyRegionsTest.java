@@ -0,0 +1,51 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirtyRegionsTest {
+    @Test
+    @DisplayName("Overlapping rectangles are merged into one, separate ones are kept apart")
+    void mergesOverlapping() {
+        DirtyRegions regions = new DirtyRegions(8);
+        regions.setBounds(0, 0, 300, 400);
+        regions.add(10, 10, 10, 10);
+        regions.add(200, 200, 10, 10);
+        regions.add(15, 15, 10, 10); // Overlaps the first.
+
+        assertAll(
+                () -> assertEquals(2, regions.size()),
+                () -> assertFalse(regions.overflowed()),
+                () -> assertTrue(regions.overlaps(0, 10, 10, 1, 1) || regions.overlaps(1, 10, 10, 1, 1)),
+                () -> assertTrue(regions.overlaps(0, 24, 24, 1, 1) || regions.overlaps(1, 24, 24, 1, 1))
+        );
+    }
+
+    @Test
+    @DisplayName("Rectangles are cut down to the bounds, and too many of them overflow")
+    void boundsAndOverflow() {
+        DirtyRegions regions = new DirtyRegions(2);
+        regions.setBounds(0, 40, 300, 400);
+        regions.add(-5, 30, 10, 20);
+        regions.add(100, 0, 10, 10); // Entirely outside the bounds.
+
+        assertAll(
+                () -> assertEquals(1, regions.size()),
+                () -> assertEquals(0, regions.left(0)),
+                () -> assertEquals(40, regions.top(0)),
+                () -> assertEquals(5, regions.right(0)),
+                () -> assertEquals(50, regions.bottom(0))
+        );
+
+        regions.add(100, 100, 10, 10);
+        regions.add(200, 200, 10, 10);
+        assertTrue(regions.overflowed());
+        regions.clear();
+        assertAll(
+                () -> assertEquals(0, regions.size()),
+                () -> assertFalse(regions.overflowed())
+        );
+    }
+}
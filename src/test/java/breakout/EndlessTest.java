@@ -0,0 +1,174 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndlessTest {
+    private static final long SEED = 42;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Rows made ahead of time are the same as rows made on the spot, in any order")
+    void rowsAreTheSameOnAnyThread() {
+        final int columns = 10;
+        final RowGenerator generator = new RowGenerator(SEED, columns, 16);
+        final byte[] row = new byte[columns];
+        final byte[] expected = new byte[columns];
+        boolean sameRows = true;
+        // In order, then jumping back (as rewinding does) and ahead again.
+        for (long r = 0; r < 1000; r += 1) {
+            generator.next(r, row, 0);
+            RowGenerator.generate(SEED, r, columns, expected, 0);
+            sameRows &= Arrays.equals(expected, row);
+        }
+        for (long r = 500; r < 2000; r += 3) {
+            generator.next(r, row, 0);
+            RowGenerator.generate(SEED, r, columns, expected, 0);
+            sameRows &= Arrays.equals(expected, row);
+        }
+        generator.stop();
+        final boolean finalSameRows = sameRows;
+
+        final byte[] other = new byte[columns];
+        RowGenerator.generate(SEED + 1, 100, columns, other, 0);
+        RowGenerator.generate(SEED, 100, columns, expected, 0);
+        assertAll(
+                () -> assertTrue(finalSameRows),
+                () -> assertFalse(Arrays.equals(expected, other), "A different seed gives different rows")
+        );
+    }
+
+    @Test
+    @DisplayName("Scrolling moves every brick down a row and brings in a new row at the top")
+    void scrollMovesBricksDown() {
+        final Level level = Level.endless(10, 12, SEED);
+        level.brickDestroyed(level.nextVisibleBrick(0));
+        final int[] before = new int[level.getBrickCount()];
+        final boolean[] visibleBefore = new boolean[level.getBrickCount()];
+        for (int i = 0; i < before.length; i += 1) {
+            before[i] = level.brickColour(i);
+            visibleBefore[i] = level.isBrickVisible(i);
+        }
+        level.scroll();
+
+        boolean movedDown = true;
+        for (int i = 0; i + level.getColumns() < before.length; i += 1) {
+            movedDown &= level.brickColour(i + level.getColumns()) == before[i];
+            movedDown &= level.isBrickVisible(i + level.getColumns()) == visibleBefore[i];
+        }
+        final byte[] top = new byte[level.getColumns()];
+        RowGenerator.generate(SEED, level.getRows(), level.getColumns(), top, 0);
+        boolean newTop = true;
+        for (int i = 0; i < top.length; i += 1) {
+            newTop &= level.hasBrick(i) == (top[i] != RowGenerator.NO_BRICK);
+        }
+        level.close();
+
+        final boolean finalMovedDown = movedDown;
+        final boolean finalNewTop = newTop;
+        assertAll(
+                () -> assertEquals(1, level.getRowsScrolled()),
+                () -> assertEquals(120, level.getBrickCount(), "The level stays the same size"),
+                () -> assertTrue(finalMovedDown),
+                () -> assertTrue(finalNewTop)
+        );
+    }
+
+    @Test
+    @DisplayName("An endless game can be rewound across scrolls and saved and loaded")
+    void rewindAcrossScrolls() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setEndless(SEED);
+        model.setRewindLength(10);
+        model.initialiseGame();
+        final int ticks = 40 * Model.TICKS_PER_SECOND;
+        final long[] checksums = new long[ticks + 1];
+        long scrolledAt = -1; // A tick where the level scrolled.
+        for (int tick = 1; tick <= ticks && !model.getGameFinished(); tick += 1) {
+            final long scrolled = model.getLevel().getRowsScrolled();
+            play(model, 1);
+            checksums[tick] = model.checksum();
+            if (model.getLevel().getRowsScrolled() != scrolled && tick < ticks - Model.TICKS_PER_SECOND) {
+                scrolledAt = tick;
+            }
+        }
+        final long end = model.getTick();
+        final long scrolled = model.getLevel().getRowsScrolled();
+
+        final ByteBuffer state = ByteBuffer.allocate(model.getStateSize());
+        model.saveState(state);
+        final long rewoundFrom = scrolledAt;
+        final boolean rewound = model.rewindTo(scrolledAt - 1);
+        final long beforeScroll = model.checksum();
+        final long scrolledBack = model.getLevel().getRowsScrolled();
+        model.loadState(state.flip());
+        model.getLevel().close();
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertTrue(scrolled > 0, "The level scrolled"),
+                () -> assertTrue(rewoundFrom > end - 10 * Model.TICKS_PER_SECOND, "Scrolled in the last seconds"),
+                () -> assertTrue(rewound),
+                () -> assertEquals(checksums[(int) rewoundFrom - 1], beforeScroll),
+                () -> assertTrue(scrolledBack < scrolled),
+                () -> assertEquals(checksums[(int) end], model.checksum()),
+                () -> assertEquals(scrolled, model.getLevel().getRowsScrolled())
+        );
+    }
+
+    @Test
+    @DisplayName("A recorded endless game plays back the same, as its seed is recorded")
+    void replayEndlessGame() throws Exception {
+        final boolean oldDebug = Debug.set(false);
+        final Path file = folder.resolve("endless.replay");
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setEndless(SEED);
+        model.initialiseGame();
+        model.startRecording(file);
+        play(model, 60 * Model.TICKS_PER_SECOND);
+        model.finishRecording();
+
+        final ReplayPlayer.Result result = ReplayPlayer.play(file);
+        model.getLevel().close();
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertTrue(model.getLevel().getRowsScrolled() > 0, "The level scrolled"),
+                () -> assertEquals(model.getTick(), result.ticks),
+                () -> assertEquals(model.getScore(), result.score)
+        );
+    }
+
+    @Test
+    @DisplayName("The endless mode seed is checked, and is never 0")
+    void endlessSeedOption() {
+        assertAll(
+                () -> assertEquals(42, Main.endlessSeed("--endless=42")),
+                () -> assertEquals(-7, Main.endlessSeed("--endless=-7")),
+                () -> assertNotEquals(0, Main.endlessSeed("--endless")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Main.endlessSeed("--endless=abc")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Main.endlessSeed("--endless=")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Main.endlessSeed("--endless=0")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Main.endlessSeed("--endlessly"))
+        );
+    }
+
+    private static void play(Model model, int ticks) {
+        for (int i = 0; i < ticks && !model.getGameFinished(); i += 1) {
+            final int paddleCentre = model.getPaddle().left() + model.getPaddle().width() / 2;
+            model.setLeftHeld(model.getBall().right() < paddleCentre);
+            model.setRightHeld(model.getBall().left() > paddleCentre);
+            model.updateGame();
+        }
+    }
+}
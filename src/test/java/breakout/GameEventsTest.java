@@ -0,0 +1,53 @@
+package breakout;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventsTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Recording with breakout.jfc records a tick event for every update, and collisions")
+    void recordsGameEvents() throws Exception {
+        final Configuration settings;
+        try (Reader jfc = new InputStreamReader(GameEventsTest.class.getResourceAsStream("/breakout.jfc"))) {
+            settings = Configuration.create(jfc);
+        }
+
+        final boolean oldDebug = Debug.set(false);
+        final Path file = folder.resolve("game.jfr");
+        try (Recording recording = new Recording(settings)) {
+            recording.start();
+            Model model = new Model(300, 400);
+            model.initialiseGame();
+            for (int i = 0; i < 500; i += 1) {
+                model.updateGame();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        Debug.set(oldDebug);
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        final long ticks = events.stream().filter(e -> e.getEventType().getName().equals("breakout.Tick")).count();
+        final long collisions = events.stream()
+                .filter(e -> e.getEventType().getName().equals("breakout.CollisionResolved")).count();
+        assertAll(
+                () -> assertEquals(500, ticks),
+                () -> assertTrue(collisions > 0)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLoopTest {
+    @Test
+    @DisplayName("One tick is run for each tick length of time that passes, leftover time is carried over")
+    void accumulatesTime() {
+        GameLoop loop = new GameLoop(100); // 10ms ticks.
+        loop.start(0);
+
+        assertAll(
+                () -> assertEquals(0, loop.advance(4_000_000)),
+                () -> assertEquals(1, loop.advance(15_000_000)),
+                () -> assertEquals(1, loop.advance(20_000_000)),
+                () -> assertEquals(0.5, loop.alpha(25_000_000), 1e-9),
+                () -> assertEquals(10_000_000, loop.nanosUntilNextTick(20_000_000))
+        );
+    }
+
+    @Test
+    @DisplayName("Falling far behind only catches up a few ticks and counts the overrun")
+    void boundedCatchUp() {
+        GameLoop loop = new GameLoop(100);
+        loop.start(0);
+        final long overruns = Metrics.OVERRUNS.sum();
+        final long droppedTicks = Metrics.DROPPED_TICKS.sum();
+
+        final int ticks = loop.advance(1_000_000_000); // A whole second late, 100 ticks due.
+
+        assertAll(
+                () -> assertTrue(ticks < 100),
+                () -> assertEquals(overruns + 1, Metrics.OVERRUNS.sum()),
+                () -> assertEquals(droppedTicks + 100 - ticks, Metrics.DROPPED_TICKS.sum()),
+                () -> assertEquals(0, loop.advance(1_000_000_000))
+        );
+    }
+
+    @Test
+    @DisplayName("Doubling the time scale doubles the tick rate")
+    void timeScale() {
+        GameLoop loop = new GameLoop(100);
+        loop.setTimeScale(2.0);
+        loop.start(0);
+
+        assertEquals(2, loop.advance(10_000_000));
+    }
+
+    @Test
+    @DisplayName("Time spent paused isn't counted, but time accumulated before the pause is kept")
+    void resumeAfterPause() {
+        GameLoop loop = new GameLoop(100);
+        loop.start(0);
+        loop.advance(4_000_000);
+        final long overruns = Metrics.OVERRUNS.sum();
+        loop.resume(1_000_000_000); // Paused for nearly a second.
+
+        assertAll(
+                () -> assertEquals(0, loop.advance(1_005_000_000)),
+                () -> assertEquals(1, loop.advance(1_006_000_000)),
+                () -> assertEquals(overruns, Metrics.OVERRUNS.sum())
+        );
+    }
+}
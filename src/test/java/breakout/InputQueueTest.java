@@ -0,0 +1,53 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputQueueTest {
+    @Test
+    @DisplayName("Inputs come out in order with their times, and a full queue refuses more until it's drained")
+    void ordersAndFills() {
+        InputQueue queue = new InputQueue();
+        List<Long> taken = new ArrayList<>();
+        for (int round = 0; round < 3; round += 1) { // Go round the ring buffer more than once.
+            for (int i = 0; i < InputQueue.CAPACITY; i += 1) {
+                assertTrue(queue.offer(i, 1000L + i));
+            }
+            assertFalse(queue.offer(-1, 0), "Queue should be full");
+            taken.clear();
+            assertEquals(InputQueue.CAPACITY, queue.drain((input, time) -> taken.add(time - input)));
+            assertTrue(taken.stream().allMatch(difference -> difference == 1000L));
+        }
+        assertEquals(0, queue.drain((input, time) -> fail("Queue should be empty")));
+    }
+
+    @Test
+    @DisplayName("Inputs offered on one thread are all taken on another, in order")
+    void passesBetweenThreads() throws InterruptedException {
+        final int count = 50_000; // Many times round the queue, but quick even with one core.
+        InputQueue queue = new InputQueue();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i += 1) {
+                while (!queue.offer(i, i)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        producer.start();
+        final int[] next = {0};
+        while (next[0] < count) {
+            queue.drain((input, time) -> {
+                assertEquals(next[0], input);
+                assertEquals(next[0], time);
+                next[0] += 1;
+            });
+        }
+        producer.join();
+        assertEquals(count, next[0]);
+    }
+}
@@ -0,0 +1,154 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelFileTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("A text level converted to binary and back is the same level")
+    void convertTextToBinaryAndBack() throws IOException {
+        final Path text = folder.resolve("level.txt");
+        Files.writeString(text, String.join("\n",
+                "# A small level with gaps",
+                "size 20 8",
+                "origin 5 70",
+                "bricks",
+                "RO.Y",
+                "..G",
+                "cbvV",
+                ""));
+        final Level original = LevelFile.read(text);
+        final Path binary = folder.resolve("level.level");
+        LevelFile.write(original, binary);
+        final Level loaded = LevelFile.read(binary);
+        final Path textAgain = folder.resolve("again.txt");
+        LevelFile.write(loaded, textAgain);
+        final Level loadedAgain = LevelFile.read(textAgain);
+
+        for (final Level level : new Level[] {original, loaded, loadedAgain}) {
+            assertAll(
+                    () -> assertEquals(4, level.getColumns()),
+                    () -> assertEquals(3, level.getRows()),
+                    () -> assertEquals(8, level.getVisibleBrickCount()),
+                    () -> assertFalse(level.hasBrick(2)),
+                    () -> assertFalse(level.isBrickVisible(7), "Short rows are filled with gaps"),
+                    () -> assertEquals(25, level.brickLeft(1)),
+                    () -> assertEquals(86, level.brickTop(9)),
+                    () -> assertEquals(4, level.brickColour(8), "Lower case letters work too"),
+                    () -> assertEquals(6, level.brickColour(11))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("A game played on a level loaded from a file plays the same as on the level it was saved from")
+    void binaryLevelPlaysTheSame() throws IOException {
+        final boolean oldDebug = Debug.set(false);
+        final Path file = folder.resolve("usual.level");
+        LevelFile.write(new Level(), file);
+        final Model usual = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        usual.initialiseGame(new Level());
+        final Model loaded = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        loaded.setLevelFile(file);
+        loaded.initialiseGame();
+        for (int i = 0; i < 2000; i += 1) {
+            usual.updateGame();
+            loaded.updateGame();
+        }
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(70, loaded.getLevel().getBrickCount()),
+                () -> assertEquals(usual.getScore(), loaded.getScore()),
+                () -> assertEquals(usual.checksum(), loaded.checksum())
+        );
+    }
+
+    @Test
+    @DisplayName("A replay of a level file only plays back on that level, even if another has as many bricks")
+    void replayNeedsItsLevel() throws IOException {
+        final boolean oldDebug = Debug.set(false);
+        final Path level = folder.resolve("gaps.txt");
+        final StringBuilder rows = new StringBuilder("bricks\n");
+        for (int row = 0; row < 7; row += 1) { // 70 places like the usual level, but with a gap in each row.
+            rows.append("RRRR.RRRRR\n");
+        }
+        Files.writeString(level, rows);
+        final Path replay = folder.resolve("gaps.replay");
+        final Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setLevelFile(level);
+        model.initialiseGame();
+        model.startRecording(replay);
+        for (int i = 0; i < 600; i += 1) {
+            model.updateGame();
+        }
+        model.finishRecording();
+
+        final IllegalArgumentException wrongLevel = assertThrows(IllegalArgumentException.class,
+                () -> ReplayPlayer.play(replay));
+        final ReplayPlayer.Result result = ReplayPlayer.play(replay, level);
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(70, model.getLevel().getBrickCount()),
+                () -> assertTrue(wrongLevel.getMessage().contains("different level"), wrongLevel.getMessage()),
+                () -> assertEquals(600, result.ticks),
+                () -> assertEquals(model.getScore(), result.score)
+        );
+    }
+
+    @Test
+    @DisplayName("Files that aren't valid levels are rejected")
+    void invalidFiles() throws IOException {
+        final Path badLetter = folder.resolve("bad.txt");
+        Files.writeString(badLetter, "bricks\nRRX\n");
+        final Path truncated = folder.resolve("truncated.level");
+        LevelFile.write(new Level(), truncated);
+        final byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> LevelFile.read(badLetter)),
+                () -> assertThrows(IllegalArgumentException.class, () -> LevelFile.read(truncated))
+        );
+    }
+
+    @Test
+    @DisplayName("Levels with colours a brick can't be drawn in are rejected, and the game plays the usual level")
+    void invalidColours() throws IOException {
+        final Path file = folder.resolve("level.level");
+        LevelFile.write(new Level(5, 2), file); // Every place has a brick, so the colours are the last 10 bytes.
+        final byte[] bytes = Files.readAllBytes(file);
+        final Path tooBig = folder.resolve("big.level");
+        bytes[bytes.length - 1] = 99;
+        Files.write(tooBig, bytes);
+        final Path noColour = folder.resolve("none.level");
+        bytes[bytes.length - 1] = -1; // Only places without a brick can be -1.
+        Files.write(noColour, bytes);
+
+        final boolean oldDebug = Debug.set(false);
+        final Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setLevelFile(tooBig);
+        model.initialiseGame();
+        model.startRecording(folder.resolve("game.replay"));
+        model.updateGame();
+        model.finishRecording();
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> LevelFile.read(tooBig)),
+                () -> assertThrows(IllegalArgumentException.class, () -> LevelFile.read(noColour)),
+                () -> assertEquals(70, model.getLevel().getBrickCount(), "The usual level is played instead")
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+    @Test
+    @DisplayName("Histogram percentiles are within a bucket of the real values")
+    void histogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 10_000; value += 1) {
+            histogram.record(value);
+        }
+
+        final long p50 = histogram.getPercentile(0.5);
+        final long p99 = histogram.getPercentile(0.99);
+        assertAll(
+                () -> assertEquals(10_000, histogram.getCount()),
+                () -> assertTrue(p50 >= 5_000 && p50 <= 5_000 * 1.125, "p50 " + p50),
+                () -> assertTrue(p99 >= 9_900 && p99 <= 9_900 * 1.125, "p99 " + p99),
+                () -> assertTrue(histogram.getMax() >= 10_000 && histogram.getMax() <= 10_000 * 1.125),
+                () -> assertEquals(Long.MAX_VALUE, Histogram.bucketMax(Histogram.bucket(Long.MAX_VALUE)))
+        );
+        histogram.reset();
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    @DisplayName("Playing a game records ticks, collision candidates and destroyed bricks, visible over JMX")
+    void gameRecordsMetrics() throws Exception {
+        Metrics.register();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        server.invoke(name, "reset", null, null);
+
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(300, 400);
+        model.initialiseGame();
+        for (int i = 0; i < 2000; i += 1) {
+            model.updateGame();
+        }
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(2000L, server.getAttribute(name, "Ticks")),
+                () -> assertEquals(0L, server.getAttribute(name, "TicksCaughtUp"), "Only the game loop catches up"),
+                () -> assertEquals(0L, server.getAttribute(name, "Overruns")),
+                () -> assertTrue((Long) server.getAttribute(name, "CollisionCandidates") > 0),
+                () -> assertTrue((Long) server.getAttribute(name, "BricksDestroyed") > 0),
+                () -> assertTrue((Double) server.getAttribute(name, "TickP99Micros") > 0)
+        );
+    }
+
+    @Test
+    @DisplayName("A game loop that falls far behind counts the overrun and dropped ticks over JMX")
+    void overrunsRecorded() throws Exception {
+        Metrics.register();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        server.invoke(name, "reset", null, null);
+
+        GameLoop loop = new GameLoop(100);
+        loop.start(0);
+        final int ticks = loop.advance(1_000_000_000); // A whole second late, 100 ticks due.
+
+        assertAll(
+                () -> assertEquals(1L, server.getAttribute(name, "Overruns")),
+                () -> assertEquals(100L - ticks, server.getAttribute(name, "DroppedTicks"))
+        );
+    }
+}
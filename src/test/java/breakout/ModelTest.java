@@ -0,0 +1,316 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelTest {
+    static final int JIT_NOISE_BYTES = 16 * 1024; // Most bytes allocation-free code may allocate while it's measured.
+
+    @Test
+    @DisplayName("Model can be created and updated without JavaFX")
+    void headlessUpdate() {
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        final int startX = model.getBall().left();
+        final int startY = model.getBall().top();
+
+        for (int i = 0; i < 10; i += 1) {
+            model.updateGame();
+        }
+
+        assertAll(
+                () -> assertNotEquals(startX, model.getBall().left()),
+                () -> assertNotEquals(startY, model.getBall().top()),
+                () -> assertEquals(5, model.getLives())
+        );
+    }
+
+    @Test
+    @DisplayName("Halving the tick rate moves the ball twice as far per tick, so it plays the same")
+    void lowerTickRate() {
+        Model normal = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        Model slow = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT, Model.TICKS_PER_SECOND / 2);
+        normal.initialiseGame();
+        slow.initialiseGame();
+
+        for (int i = 0; i < 20; i += 1) {
+            normal.updateGame();
+            if (i % 2 == 0) {
+                slow.updateGame();
+            }
+        }
+
+        assertAll(
+                () -> assertEquals(normal.getBall().left(), slow.getBall().left()),
+                () -> assertEquals(normal.getBall().top(), slow.getBall().top())
+        );
+    }
+
+    @Test
+    @DisplayName("Updating the game doesn't allocate memory once it's running")
+    void allocationFree() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Play long enough to clear a few levels, first to warm up, then while counting allocated bytes.
+        final int ticks = 100_000;
+        playWithPaddleUnderBall(model, ticks);
+        final long before = threads.getCurrentThreadAllocatedBytes();
+        playWithPaddleUnderBall(model, ticks);
+        final long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        Debug.set(oldDebug);
+
+        assertTrue(model.getScore() > 0, "The ball should have broken some bricks");
+        // Allocating even one small object per tick would be over a megabyte, but the JIT recompiling something while
+        // we measure can allocate a few hundred bytes once, so allow a little for that.
+        assertTrue(allocated <= JIT_NOISE_BYTES, allocated + " bytes allocated in " + ticks + " ticks");
+    }
+
+    @Test
+    @DisplayName("Moving lots of balls on several threads gives exactly the same game as moving them one at a time")
+    void parallelBallsMatchSequential() {
+        Model parallel = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        Model sequential = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        sequential.setParallel(false);
+        for (Model model : new Model[] {parallel, sequential}) {
+            model.initialiseGame();
+            addRandomBalls(model, 2000, new Random(42));
+        }
+
+        for (int i = 0; i < 300; i += 1) {
+            parallel.updateGame();
+            sequential.updateGame();
+        }
+
+        assertAll(
+                () -> assertTrue(sequential.getScore() > 0, "The balls should have broken some bricks"),
+                () -> assertEquals(sequential.getScore(), parallel.getScore()),
+                () -> assertEquals(sequential.getLives(), parallel.getLives()),
+                () -> assertEquals(sequential.getBalls().size(), parallel.getBalls().size())
+        );
+        for (int i = 0; i < sequential.getBalls().size(); i += 1) {
+            final Ball expected = sequential.getBalls().get(i);
+            final Ball actual = parallel.getBalls().get(i);
+            assertEquals(expected.left(), actual.left(), "Ball " + i + " X");
+            assertEquals(expected.top(), actual.top(), "Ball " + i + " Y");
+        }
+    }
+
+    @Test
+    @DisplayName("A key tapped between two ticks still moves the paddle for one tick")
+    void quickTapIsNotLost() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.updateGame();
+        final int start = model.getPaddle().left();
+        model.setLeftHeld(true); // Pressed and released before the next tick.
+        model.setLeftHeld(false);
+        model.updateGame();
+        final int afterTap = model.getPaddle().left();
+        model.updateGame();
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(start - Paddle.SPEED, afterTap),
+                () -> assertEquals(afterTap, model.getPaddle().left(), "The paddle stops once the key is released"),
+                () -> assertFalse(model.getLeftHeld())
+        );
+    }
+
+    @Test
+    @DisplayName("The last tick's snapshot is published before the game is seen to have finished")
+    void finalTickPublishedBeforeFinished() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        final long[] drawnTick = {-1};
+        final int[] drawnLives = {-1};
+        model.setChangeListener(() -> { // What the View would draw as soon as it sees the game has finished.
+            if (model.getGameFinished()) {
+                drawnTick[0] = model.getSnapshot().getTick();
+                drawnLives[0] = model.getSnapshot().getLives();
+            }
+        });
+        for (int i = 0; i < 100 && !model.getGameFinished(); i += 1) {
+            // Put the ball just above the bottom, away from the paddle, so it's lost this tick.
+            final KineticGameObj ball = model.getBall();
+            ball.moveTo(0, model.height - (ball.bottom() - ball.top()) - 1);
+            model.updateGame();
+        }
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertTrue(model.getGameFinished()),
+                () -> assertEquals(model.getTick(), drawnTick[0]),
+                () -> assertEquals(0, drawnLives[0])
+        );
+    }
+
+    @Test
+    @DisplayName("A key held when the game restarts doesn't move the new game's paddle")
+    void restartForgetsKeys() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.setLeftHeld(true);
+        model.updateGame(); // Left is now held.
+        model.setRightHeld(true); // Still queued when the game restarts.
+        model.initialiseGame();
+        final int start = model.getPaddle().left();
+        model.updateGame();
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(start, model.getPaddle().left()),
+                () -> assertFalse(model.getLeftHeld()),
+                () -> assertFalse(model.getRightHeld())
+        );
+    }
+
+    @Test
+    @DisplayName("Loading a saved game puts it back exactly, so it plays out the same again")
+    void saveAndLoadState() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        addRandomBalls(model, 20, new Random(3));
+        playWithPaddleUnderBall(model, 300);
+        final long savedChecksum = model.checksum();
+        final ByteBuffer state = ByteBuffer.allocate(model.getStateSize());
+        model.saveState(state);
+
+        playWithPaddleUnderBall(model, 500);
+        final long laterChecksum = model.checksum();
+        final int savedSize = state.position();
+        state.flip();
+        model.loadState(state);
+        final long loadedChecksum = model.checksum();
+        playWithPaddleUnderBall(model, 500);
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(state.capacity(), savedSize),
+                () -> assertEquals(savedChecksum, loadedChecksum),
+                () -> assertEquals(laterChecksum, model.checksum()),
+                () -> assertFalse(state.hasRemaining())
+        );
+    }
+
+    @Test
+    @DisplayName("Which bricks are visible is saved and loaded exactly, whatever the pattern")
+    void saveAndLoadVisibleBricks() {
+        final Level saved = new Level(13, 11); // Not a whole number of longs.
+        final Level loaded = new Level(13, 11);
+        final Random random = new Random(5);
+        for (int i = 0; i < saved.getBrickCount(); i += 1) {
+            if (random.nextInt(3) == 0 || (i >= 64 && i < 128)) { // Including a whole long of destroyed bricks.
+                saved.brickDestroyed(i);
+            }
+        }
+        final ByteBuffer bitmap = ByteBuffer.allocate(saved.getVisibleSize());
+        saved.saveVisible(bitmap);
+        bitmap.flip();
+        loaded.loadVisible(bitmap);
+
+        for (int i = 0; i < saved.getBrickCount(); i += 1) {
+            assertEquals(saved.isBrickVisible(i), loaded.isBrickVisible(i), "Brick " + i);
+        }
+        assertAll(
+                () -> assertEquals(3 * Long.BYTES, saved.getVisibleSize()),
+                () -> assertEquals(saved.getVisibleBrickCount(), loaded.getVisibleBrickCount()),
+                () -> assertEquals(saved.checksum(), loaded.checksum())
+        );
+    }
+
+    @Test
+    @DisplayName("A saved game for a different level is rejected without changing the game")
+    void loadStateForWrongLevel() {
+        Model small = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        small.initialiseGame(new Level(5, 2));
+        final ByteBuffer state = ByteBuffer.allocate(small.getStateSize());
+        small.saveState(state);
+        state.flip();
+
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.updateGame();
+        final long checksum = model.checksum();
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> model.loadState(state)),
+                () -> assertEquals(checksum, model.checksum())
+        );
+    }
+
+    @Test
+    @DisplayName("A saved game with a damaged number of balls is rejected without changing the game")
+    void loadStateWithTooManyBalls() {
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.updateGame();
+        final ByteBuffer state = ByteBuffer.allocate(model.getStateSize());
+        model.saveState(state);
+        state.flip();
+        // The number of balls comes just before the one ball, the number of bricks, the rows scrolled and the bricks.
+        final int ballCountAt = state.limit() - model.getLevel().getVisibleSize() - Long.BYTES - Integer.BYTES
+                - 6 * Integer.BYTES - Integer.BYTES;
+        assertEquals(1, state.getInt(ballCountAt));
+        state.putInt(ballCountAt, 100_000_000); // Enough that the size of the balls doesn't fit in an int.
+        final long checksum = model.checksum();
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> model.loadState(state)),
+                () -> assertEquals(checksum, model.checksum())
+        );
+    }
+
+    @Test
+    @DisplayName("A saved game cut short anywhere is rejected without changing the game")
+    void loadTruncatedState() {
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.updateGame();
+        final ByteBuffer state = ByteBuffer.allocate(model.getStateSize());
+        model.saveState(state);
+        state.flip();
+        final long checksum = model.checksum();
+
+        for (int length = 0; length < state.limit(); length += 1) {
+            final ByteBuffer truncated = state.duplicate().limit(length);
+            assertThrows(IllegalArgumentException.class, () -> model.loadState(truncated), length + " bytes");
+        }
+        assertEquals(checksum, model.checksum());
+    }
+
+    /**
+     * Put balls into play at random places below the bricks, moving in random diagonal directions.
+     */
+    private static void addRandomBalls(Model model, int count, Random random) {
+        for (int i = 0; i < count; i += 1) {
+            model.addBall(random.nextInt(Main.WINDOW_WIDTH - 10), 160 + random.nextInt(150),
+                    random.nextBoolean() ? Ball.SPEED : -Ball.SPEED, random.nextBoolean() ? Ball.SPEED : -Ball.SPEED);
+        }
+    }
+
+    /**
+     * Update the game, moving the paddle to follow the ball so the game doesn't end.
+     */
+    private static void playWithPaddleUnderBall(Model model, int ticks) {
+        for (int i = 0; i < ticks; i += 1) {
+            final int paddleCentre = model.getPaddle().left() + model.getPaddle().width() / 2;
+            model.setLeftHeld(model.getBall().right() < paddleCentre);
+            model.setRightHeld(model.getBall().left() > paddleCentre);
+            model.updateGame();
+        }
+    }
+}
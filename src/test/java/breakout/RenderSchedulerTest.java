@@ -0,0 +1,36 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderSchedulerTest {
+    @Test
+    @DisplayName("Frames are only drawn when the tick or alpha changes, and a paused game goes idle once drawn")
+    void drawsOnlyChanges() {
+        RenderScheduler scheduler = new RenderScheduler();
+        boolean first = scheduler.shouldDraw(5, 0.5);
+        scheduler.drawn(5, 0.5);
+        boolean same = scheduler.shouldDraw(5, 0.5);
+        boolean newTick = scheduler.shouldDraw(8, 0.5); // Several ticks since the last frame, still one draw.
+        scheduler.drawn(8, 0.5);
+        boolean idleWhileRunning = scheduler.isIdle(true, 8);
+        boolean pausedBeforeDrawn = scheduler.isIdle(false, 9);
+        boolean pausedAfterDrawn = scheduler.isIdle(false, 8);
+        scheduler.invalidate();
+        boolean afterInvalidate = scheduler.shouldDraw(8, 0.5);
+
+        assertAll(
+                () -> assertTrue(first),
+                () -> assertFalse(same),
+                () -> assertTrue(newTick),
+                () -> assertFalse(idleWhileRunning),
+                () -> assertFalse(pausedBeforeDrawn),
+                () -> assertTrue(pausedAfterDrawn),
+                () -> assertTrue(afterInvalidate),
+                () -> assertEquals(2, scheduler.getFramesDrawn()),
+                () -> assertEquals(1, scheduler.getFramesSkipped())
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("A recorded game plays back to the same score, and a changed recording is caught")
+    void playsBackRecordedGame() throws Exception {
+        final boolean oldDebug = Debug.set(false);
+        final Path file = folder.resolve("game.replay");
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.startRecording(file);
+        final SplittableRandom random = new SplittableRandom(3);
+        int ticks = 0;
+        while (!model.getGameFinished() && ticks < 20_000) {
+            if (ticks % 15 == 0) { // Hold left, right or nothing at random, with the odd quick tap.
+                final int choice = random.nextInt(3);
+                model.setLeftHeld(choice == 0);
+                model.setRightHeld(choice == 1);
+                if (choice == 2 && random.nextBoolean()) {
+                    model.setLeftHeld(true);
+                    model.setLeftHeld(false);
+                }
+            }
+            if (ticks % 1000 == 0) {
+                model.toggleFast();
+            }
+            model.updateGame();
+            ticks += 1;
+        }
+        model.finishRecording();
+
+        final ReplayPlayer.Result result = ReplayPlayer.play(file);
+
+        // Change the checksum recorded after the first second, as if the game had played out differently.
+        final byte[] bytes = Files.readAllBytes(file);
+        final int headerSize = 4 + 2 + 4 * 3 + 8 + 4 + 8 + 8;
+        bytes[headerSize + ReplayWriter.CHECKSUM_INTERVAL] ^= 1;
+        final Path changed = folder.resolve("changed.replay");
+        Files.write(changed, bytes);
+        Debug.set(oldDebug);
+
+        final int finalTicks = ticks;
+        assertAll(
+                () -> assertEquals(finalTicks, result.ticks),
+                () -> assertEquals(model.getScore(), result.score),
+                () -> assertEquals(finalTicks / ReplayWriter.CHECKSUM_INTERVAL + 2, result.checksums),
+                () -> assertThrows(IllegalStateException.class, () -> ReplayPlayer.play(changed))
+        );
+    }
+}
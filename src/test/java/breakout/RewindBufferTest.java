@@ -0,0 +1,137 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewindBufferTest {
+    private static final int TICKS = 600;
+
+    @Test
+    @DisplayName("Rewinding to any tick kept puts the game back exactly as it was")
+    void rewindToAnyTick() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setRewindLength(TICKS / Model.TICKS_PER_SECOND);
+        model.initialiseGame();
+        addBalls(model, 10);
+        final long[] checksums = new long[TICKS + 1];
+        checksums[0] = model.checksum();
+        for (int tick = 1; tick <= TICKS; tick += 1) {
+            play(model, 1);
+            checksums[tick] = model.checksum();
+        }
+
+        // The buffer was sized for one ball, so with more it keeps fewer seconds than asked for, but still plenty.
+        final Random random = new Random(9);
+        long tick = TICKS;
+        while (tick > TICKS / 2) {
+            assertTrue(model.rewindTo(tick));
+            assertEquals(checksums[(int) tick], model.checksum(), "Tick " + tick);
+            tick -= 1 + random.nextInt(40);
+        }
+        Debug.set(oldDebug);
+    }
+
+    @Test
+    @DisplayName("After rewinding, the game plays out the same way again")
+    void playOnAfterRewinding() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setRewindLength(10);
+        model.initialiseGame();
+        addBalls(model, 10);
+        play(model, 500);
+        final long checksum = model.checksum();
+        final int score = model.getScore();
+
+        assertTrue(model.rewind(3));
+        final long rewoundTo = model.getTick();
+        play(model, 500 - (int) rewoundTo);
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(500 - 3 * Model.TICKS_PER_SECOND, rewoundTo),
+                () -> assertEquals(score, model.getScore()),
+                () -> assertEquals(checksum, model.checksum())
+        );
+    }
+
+    @Test
+    @DisplayName("When the buffer is full the oldest seconds are forgotten, and the newest can still be rewound to")
+    void forgetsOldestWhenFull() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        // Room for about three seconds, each a keyframe and 29 deltas.
+        final RewindBuffer small = new RewindBuffer(1000, 30, 3 * (model.getStateSize() + 29 * model.getDeltaSize(1)));
+        model.getLevel().setListener(small);
+        small.record(model, model.getTick());
+        final long[] checksums = new long[TICKS + 1];
+        for (int tick = 1; tick <= TICKS; tick += 1) {
+            play(model, 1);
+            small.record(model, model.getTick());
+            checksums[tick] = model.checksum();
+        }
+        final long oldest = small.getOldestTick();
+        final long newest = small.getNewestTick();
+        final int count = small.getTickCount();
+        final boolean rewound = small.rewindTo(model, oldest);
+        Debug.set(oldDebug);
+
+        assertAll(
+                () -> assertEquals(TICKS, newest),
+                () -> assertTrue(count < TICKS, "Some ticks were forgotten"),
+                () -> assertEquals(0, oldest % 30, "The oldest tick kept is a keyframe"),
+                () -> assertTrue(rewound),
+                () -> assertEquals(checksums[(int) oldest], model.checksum()),
+                () -> assertFalse(small.rewindTo(model, oldest - 1))
+        );
+    }
+
+    @Test
+    @DisplayName("Keeping the last few seconds doesn't allocate memory while the game is running")
+    void recordingIsAllocationFree() {
+        final boolean oldDebug = Debug.set(false);
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.setRewindLength(2);
+        model.initialiseGame();
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Play long enough to clear a few levels and fill the buffer many times over.
+        final int ticks = 50_000;
+        play(model, ticks);
+        final long before = threads.getCurrentThreadAllocatedBytes();
+        play(model, ticks);
+        final long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        Debug.set(oldDebug);
+
+        assertTrue(allocated <= ModelTest.JIT_NOISE_BYTES, allocated + " bytes allocated in " + ticks + " ticks");
+    }
+
+    /**
+     * Put some balls into play below the bricks, moving in different directions.
+     */
+    private static void addBalls(Model model, int count) {
+        for (int i = 0; i < count; i += 1) {
+            model.addBall(20 + i * 40, 200, i % 2 == 0 ? Ball.SPEED : -Ball.SPEED, -Ball.SPEED);
+        }
+    }
+
+    /**
+     * Update the game, moving the paddle to follow the first ball.
+     */
+    private static void play(Model model, int ticks) {
+        for (int i = 0; i < ticks; i += 1) {
+            final int paddleCentre = model.getPaddle().left() + model.getPaddle().width() / 2;
+            model.setLeftHeld(model.getBall().right() < paddleCentre);
+            model.setRightHeld(model.getBall().left() > paddleCentre);
+            model.updateGame();
+        }
+    }
+}
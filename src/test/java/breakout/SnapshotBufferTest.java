@@ -0,0 +1,47 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotBufferTest {
+    @Test
+    @DisplayName("The reader sees the latest published snapshot and keeps it until something newer is published")
+    void latestPublished() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+
+        GameSnapshot first = buffer.writable();
+        first.capture(1, model.getBalls(), model.getPaddle(), model.getLevel(), 0, 5);
+        buffer.publish();
+        GameSnapshot second = buffer.writable();
+        second.capture(2, model.getBalls(), model.getPaddle(), model.getLevel(), 0, 5);
+        buffer.publish();
+
+        assertAll(
+                () -> assertNotSame(first, second),
+                () -> assertEquals(2, buffer.latest().getTick()),
+                () -> assertEquals(2, buffer.latest().getTick()),
+                () -> assertNotSame(buffer.latest(), buffer.writable())
+        );
+    }
+
+    @Test
+    @DisplayName("Model publishes a snapshot at the end of every update")
+    void modelPublishes() {
+        Model model = new Model(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+        model.initialiseGame();
+        model.updateGame();
+        model.updateGame();
+
+        GameSnapshot snapshot = model.getSnapshot();
+        assertAll(
+                () -> assertEquals(2, snapshot.getTick()),
+                () -> assertEquals(model.getBall().left(), snapshot.ballX(0, 1.0)),
+                () -> assertEquals(model.getLives(), snapshot.getLives()),
+                () -> assertTrue(snapshot.isBrickVisible(0))
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package breakout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+    @Test
+    @DisplayName("Messages from each thread are written out in order, and nothing is recorded when turned off")
+    void writesMessagesInOrder() throws InterruptedException {
+        final StringWriter output = new StringWriter();
+        Tracer.setOutput(output);
+        final boolean oldDebug = Debug.set(true);
+        Thread other = new Thread(() -> Debug.trace("Other %d %d", 3, 4), "tracer-test");
+        other.start();
+        other.join();
+        Debug.trace("First");
+        Debug.trace("Second %d", 2);
+        Debug.set(false);
+        Debug.trace("Hidden");
+        Debug.set(oldDebug);
+        Tracer.setOutput(new OutputStreamWriter(System.out));
+
+        final String text = output.toString();
+        assertAll(
+                () -> assertTrue(text.contains("tracer-test] Other 3 4"), text),
+                () -> assertTrue(text.indexOf("] First") < text.indexOf("] Second 2"), text),
+                () -> assertFalse(text.contains("Hidden"), text)
+        );
+    }
+
+    @Test
+    @DisplayName("A finished thread's buffer is thrown away once its messages have been written out")
+    void forgetsFinishedThreads() throws InterruptedException {
+        final StringWriter output = new StringWriter();
+        Tracer.setOutput(output);
+        final boolean oldDebug = Debug.set(true);
+        final Thread[] threads = new Thread[20];
+        for (int i = 0; i < threads.length; i += 1) {
+            threads[i] = new Thread(() -> Debug.trace("Short lived"), "tracer-short-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Debug.set(oldDebug);
+        Tracer.flush();
+        final int ringsLeft = Tracer.getRingCount();
+        Tracer.setOutput(new OutputStreamWriter(System.out));
+
+        final String text = output.toString();
+        assertAll(
+                () -> assertTrue(text.contains("tracer-short-19] Short lived"), text),
+                () -> assertEquals(20, text.split("Short lived", -1).length - 1),
+                () -> assertTrue(ringsLeft < threads.length, ringsLeft + " buffers kept")
+        );
+    }
+
+    @Test
+    @DisplayName("When a thread records more than its buffer holds, the oldest messages are counted as lost")
+    void countsLostMessages() throws InterruptedException {
+        final StringWriter output = new StringWriter();
+        Tracer.setOutput(output);
+        final boolean oldDebug = Debug.set(true);
+        Thread busy = new Thread(() -> {
+            for (int i = 0; i < Tracer.CAPACITY + 10; i += 1) {
+                Debug.trace("Message %d", i);
+            }
+        }, "tracer-busy");
+        busy.start();
+        busy.join();
+        Debug.set(oldDebug);
+        Tracer.setOutput(new OutputStreamWriter(System.out));
+
+        // The background thread might have written some out part way through, but every message is either written or
+        // counted as lost, and the newest ones are always kept.
+        final String text = output.toString();
+        long lost = 0;
+        long written = 0;
+        for (String line : text.split(System.lineSeparator())) {
+            if (line.endsWith("trace messages lost")) {
+                lost += Long.parseLong(line.substring(line.indexOf("] ") + 2, line.indexOf(" trace messages")));
+            } else if (line.contains("tracer-busy] Message")) {
+                written += 1;
+            }
+        }
+        final long total = lost + written;
+        assertAll(
+                () -> assertEquals(Tracer.CAPACITY + 10, total),
+                () -> assertTrue(text.contains("] Message " + (Tracer.CAPACITY + 9)))
+        );
+    }
+}